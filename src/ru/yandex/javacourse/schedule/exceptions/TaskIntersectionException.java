@@ -0,0 +1,28 @@
+package ru.yandex.javacourse.schedule.exceptions;
+
+import java.io.Serial;
+import java.util.List;
+
+import ru.yandex.javacourse.schedule.manager.TimeConflict;
+
+public class TaskIntersectionException extends ManagerValidateException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int taskId;
+    private final TimeConflict[] conflicts;
+
+    public TaskIntersectionException(int taskId, List<TimeConflict> conflicts) {
+        super("Задача пересекается по времени с уже существующей: id=" + taskId + ", конфликты: " + conflicts);
+        this.taskId = taskId;
+        this.conflicts = conflicts.toArray(new TimeConflict[0]);
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public List<TimeConflict> getConflicts() {
+        return List.of(conflicts);
+    }
+}
@@ -0,0 +1,410 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.exceptions.ManagerSaveException;
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * File-backed task manager that persists in the background.
+ * <p>
+ * Mutations only mark the manager dirty. A single writer thread captures a snapshot every
+ * {@code flushInterval}, or as soon as {@code dirtyThreshold} mutations have piled up, so a burst of
+ * mutations costs one write. The snapshot is encoded under the manager lock and written to disk outside
+ * of it. {@link #flush()} and {@link #close()} are durability barriers; a failed background write is
+ * rethrown from the next barrier.
+ * <p>
+ * Instances are created by {@link #create} or {@link #loadFromFile}, which start the writer once the
+ * manager is fully built. Every method of {@link TaskManager} may be called from any thread: reads and
+ * mutations alike run under the manager's monitor, which the writer also takes while it encodes a snapshot,
+ * so a read never sees a mutation half-applied. Change listeners are called on the mutating thread while
+ * it holds the monitor.
+ */
+public class AsyncFileBackedTaskManager extends FileBackedTaskManager implements AutoCloseable {
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    public static final int DEFAULT_DIRTY_THRESHOLD = 1000;
+
+    private final Duration flushInterval;
+    private final int dirtyThreshold;
+    private final ScheduledExecutorService writer;
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final Object ioLock = new Object();
+
+    private int dirty;
+    private long requests;
+    private long writes;
+    private long persistedRequests;
+    private volatile boolean closed;
+    private volatile ManagerSaveException failure;
+
+    private AsyncFileBackedTaskManager(File storageFile, SnapshotFormat format, Duration flushInterval,
+            int dirtyThreshold) {
+        super(storageFile, format);
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive: " + flushInterval);
+        }
+        if (dirtyThreshold <= 0) {
+            throw new IllegalArgumentException("dirtyThreshold must be positive: " + dirtyThreshold);
+        }
+        this.flushInterval = flushInterval;
+        this.dirtyThreshold = dirtyThreshold;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-manager-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static AsyncFileBackedTaskManager create(File storageFile) {
+        return create(storageFile, SnapshotFormat.CSV, DEFAULT_FLUSH_INTERVAL, DEFAULT_DIRTY_THRESHOLD);
+    }
+
+    public static AsyncFileBackedTaskManager create(File storageFile, SnapshotFormat format, Duration flushInterval,
+            int dirtyThreshold) {
+        AsyncFileBackedTaskManager manager = new AsyncFileBackedTaskManager(storageFile, format, flushInterval,
+                dirtyThreshold);
+        manager.start();
+        return manager;
+    }
+
+    public static AsyncFileBackedTaskManager loadFromFile(File storageFile, Duration flushInterval, int dirtyThreshold) {
+        AsyncFileBackedTaskManager manager = new AsyncFileBackedTaskManager(storageFile, detectFormat(storageFile),
+                flushInterval, dirtyThreshold);
+        manager.restoreFrom(storageFile);
+        manager.start();
+        return manager;
+    }
+
+    private void start() {
+        long intervalNanos = flushInterval.toNanos();
+        writer.scheduleWithFixedDelay(this::backgroundFlush, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Writes pending changes now and waits for the write to finish.
+     */
+    public void flush() {
+        rethrowFailure();
+        writePending();
+    }
+
+    /**
+     * Stops the background writer and writes pending changes. Mutations after close are saved synchronously.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public synchronized SaveStatistics getSaveStatistics() {
+        return new SaveStatistics(requests, writes, persistedRequests - writes);
+    }
+
+    @Override
+    protected synchronized void save() {
+        requests++;
+        if (closed) {
+            super.save();
+            writes++;
+            persistedRequests++;
+            return;
+        }
+        dirty++;
+        if (dirty >= dirtyThreshold && flushQueued.compareAndSet(false, true)) {
+            writer.execute(this::backgroundFlush);
+        }
+    }
+
+    private void backgroundFlush() {
+        flushQueued.set(false);
+        try {
+            writePending();
+        } catch (ManagerSaveException e) {
+            failure = e;
+        }
+    }
+
+    private void writePending() {
+        synchronized (ioLock) {
+            byte[] snapshot;
+            int covered;
+            synchronized (this) {
+                if (dirty == 0) {
+                    return;
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try {
+                    writeSnapshot(out);
+                } catch (IOException e) {
+                    throw new ManagerSaveException("Ошибка сохранения данных в файл: " + getStorageFile(), e);
+                }
+                snapshot = out.toByteArray();
+                covered = dirty;
+                persistedRequests += covered;
+                dirty = 0;
+            }
+
+            try {
+                writeAtomically(getStorageFile().toPath(), out -> out.write(snapshot));
+            } catch (IOException e) {
+                synchronized (this) {
+                    dirty += covered;
+                    persistedRequests -= covered;
+                }
+                throw new ManagerSaveException("Ошибка сохранения данных в файл: " + getStorageFile(), e);
+            }
+            synchronized (this) {
+                writes++;
+            }
+        }
+    }
+
+    private void rethrowFailure() {
+        ManagerSaveException error = failure;
+        if (error != null) {
+            failure = null;
+            throw error;
+        }
+    }
+
+    @Override
+    public synchronized ArrayList<Task> getTasks() {
+        return super.getTasks();
+    }
+
+    @Override
+    public synchronized ArrayList<Subtask> getSubtasks() {
+        return super.getSubtasks();
+    }
+
+    @Override
+    public synchronized ArrayList<Epic> getEpics() {
+        return super.getEpics();
+    }
+
+    @Override
+    public synchronized ArrayList<Subtask> getEpicSubtasks(int epicId) {
+        return super.getEpicSubtasks(epicId);
+    }
+
+    @Override
+    public synchronized List<Task> getTasks(int afterId, int limit) {
+        return super.getTasks(afterId, limit);
+    }
+
+    @Override
+    public synchronized List<Subtask> getSubtasks(int afterId, int limit) {
+        return super.getSubtasks(afterId, limit);
+    }
+
+    @Override
+    public synchronized List<Epic> getEpics(int afterId, int limit) {
+        return super.getEpics(afterId, limit);
+    }
+
+    @Override
+    public synchronized Optional<Task> getTask(int id) {
+        return super.getTask(id);
+    }
+
+    @Override
+    public synchronized Optional<Subtask> getSubtask(int id) {
+        return super.getSubtask(id);
+    }
+
+    @Override
+    public synchronized Optional<Epic> getEpic(int id) {
+        return super.getEpic(id);
+    }
+
+    @Override
+    public synchronized Optional<TaskSnapshot> getSnapshot(int id) {
+        return super.getSnapshot(id);
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> getSnapshots(TaskType type) {
+        return super.getSnapshots(type);
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> getSnapshots(TaskType type, int afterId, int limit) {
+        return super.getSnapshots(type, afterId, limit);
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> getSnapshots(TaskType type, TaskStatus status) {
+        return super.getSnapshots(type, status);
+    }
+
+    @Override
+    public synchronized int count(TaskType type) {
+        return super.count(type);
+    }
+
+    @Override
+    public synchronized int count(TaskType type, TaskStatus status) {
+        return super.count(type, status);
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> search(String query, int limit) {
+        return super.search(query, limit);
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        return super.getHistory();
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> getHistorySnapshots() {
+        return super.getHistorySnapshots();
+    }
+
+    @Override
+    public synchronized Optional<TaskSnapshot> getSnapshot(String userId, int id) {
+        return super.getSnapshot(userId, id);
+    }
+
+    @Override
+    public synchronized List<TaskSnapshot> getHistorySnapshots(String userId) {
+        return super.getHistorySnapshots(userId);
+    }
+
+    @Override
+    public synchronized void clearHistory(String userId) {
+        super.clearHistory(userId);
+    }
+
+    @Override
+    public synchronized List<TimeConflict> findConflicts(Task candidate) {
+        return super.findConflicts(candidate);
+    }
+
+    @Override
+    public synchronized Optional<TimeSlot> findFreeSlot(Duration duration, LocalDateTime from, LocalDateTime to) {
+        return super.findFreeSlot(duration, from, to);
+    }
+
+    @Override
+    public synchronized List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to) {
+        return super.findFreeSlots(duration, from, to);
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks() {
+        return super.getPrioritizedTasks();
+    }
+
+    @Override
+    public synchronized NavigableSet<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return super.getPrioritizedTasks(from, to);
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasksAfter(Task after, int limit) {
+        return super.getPrioritizedTasksAfter(after, limit);
+    }
+
+    @Override
+    public synchronized long getLastSequence() {
+        return super.getLastSequence();
+    }
+
+    @Override
+    public synchronized List<TaskEvent> getChanges(long afterSequence, int limit) {
+        return super.getChanges(afterSequence, limit);
+    }
+
+    @Override
+    public synchronized int addNewTask(Task task) {
+        return super.addNewTask(task);
+    }
+
+    @Override
+    public synchronized int addNewEpic(Epic epic) {
+        return super.addNewEpic(epic);
+    }
+
+    @Override
+    public synchronized Integer addNewSubtask(Subtask subtask) {
+        return super.addNewSubtask(subtask);
+    }
+
+    @Override
+    public synchronized List<Integer> addAll(Collection<? extends Task> batch) {
+        return super.addAll(batch);
+    }
+
+    @Override
+    public synchronized void updateTask(Task task) {
+        super.updateTask(task);
+    }
+
+    @Override
+    public synchronized void updateEpic(Epic epic) {
+        super.updateEpic(epic);
+    }
+
+    @Override
+    public synchronized void updateSubtask(Subtask subtask) {
+        super.updateSubtask(subtask);
+    }
+
+    @Override
+    public synchronized void deleteTask(int id) {
+        super.deleteTask(id);
+    }
+
+    @Override
+    public synchronized void deleteEpic(int id) {
+        super.deleteEpic(id);
+    }
+
+    @Override
+    public synchronized void deleteSubtask(int id) {
+        super.deleteSubtask(id);
+    }
+
+    @Override
+    public synchronized void deleteTasks() {
+        super.deleteTasks();
+    }
+
+    @Override
+    public synchronized void deleteSubtasks() {
+        super.deleteSubtasks();
+    }
+
+    @Override
+    public synchronized void deleteEpics() {
+        super.deleteEpics();
+    }
+}
@@ -0,0 +1,205 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static ru.yandex.javacourse.schedule.manager.BinarySnapshotWriter.HAS_DURATION;
+import static ru.yandex.javacourse.schedule.manager.BinarySnapshotWriter.HAS_START_TIME;
+import static ru.yandex.javacourse.schedule.manager.BinarySnapshotWriter.HAS_SUB_MINUTE;
+import static ru.yandex.javacourse.schedule.manager.BinarySnapshotWriter.NANOS_PER_SECOND;
+
+/**
+ * Reader of the snapshot format written by {@link BinarySnapshotWriter}.
+ */
+public final class BinarySnapshotReader implements SnapshotReader {
+
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int limit;
+    private int checksummed;
+    private final CRC32 checksum = new CRC32();
+    private final int version;
+    private final String[] strings;
+    private final long entities;
+    private final long startedAt = System.nanoTime();
+    private long rows;
+    private long bytes;
+    private boolean finished;
+
+    public BinarySnapshotReader(InputStream in) throws IOException {
+        this.in = in;
+
+        byte[] magic = readBytes(BinarySnapshotWriter.MAGIC.length);
+        if (!Arrays.equals(magic, BinarySnapshotWriter.MAGIC)) {
+            throw new IOException("Файл не является бинарным снимком");
+        }
+        version = readByte();
+        if (version < 1 || version > BinarySnapshotWriter.VERSION) {
+            throw new IOException("Неподдерживаемая версия бинарного снимка: " + version);
+        }
+
+        int count = readLength();
+        String[] table = new String[Math.min(count, 1024)];
+        for (int i = 0; i < count; i++) {
+            if (i == table.length) {
+                table = Arrays.copyOf(table, (int) Math.min(count, 2L * table.length));
+            }
+            table[i] = new String(readBytes(readLength()), StandardCharsets.UTF_8);
+        }
+        strings = table;
+        entities = readVarLong();
+    }
+
+    public static BinarySnapshotReader open(Path path) throws IOException {
+        return new BinarySnapshotReader(Files.newInputStream(path));
+    }
+
+    @Override
+    public Task next() throws IOException {
+        if (rows == entities) {
+            if (!finished) {
+                finished = true;
+                if (version >= BinarySnapshotWriter.FIRST_CHECKSUM_VERSION) {
+                    verifyChecksum();
+                }
+            }
+            return null;
+        }
+
+        TaskType type = TYPES[ordinal(readByte(), TYPES.length)];
+        int id = (int) readVarLong();
+        TaskStatus status = STATUSES[ordinal(readByte(), STATUSES.length)];
+        String name = string((int) readVarLong());
+        String description = string((int) readVarLong());
+
+        Task task = switch (type) {
+            case TASK -> new Task(id, name, description, status);
+            case EPIC -> new Epic(id, name, description);
+            case SUBTASK -> new Subtask(id, name, description, status, (int) readVarLong());
+        };
+
+        int flags = readByte();
+        if ((flags & HAS_DURATION) != 0) {
+            task.setDuration(Duration.ofMinutes(unZigZag(readVarLong())));
+        }
+        if ((flags & HAS_START_TIME) != 0) {
+            long epochMinute = unZigZag(readVarLong());
+            long subMinuteNanos = (flags & HAS_SUB_MINUTE) != 0 ? readVarLong() : 0;
+            task.setStartTime(LocalDateTime.ofEpochSecond(epochMinute * 60 + subMinuteNanos / NANOS_PER_SECOND,
+                    (int) (subMinuteNanos % NANOS_PER_SECOND), ZoneOffset.UTC));
+        }
+
+        rows++;
+        return task;
+    }
+
+    @Override
+    public LoadStatistics statistics() {
+        return new LoadStatistics(rows, bytes, System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String string(int index) throws IOException {
+        if (index < 0 || index > strings.length) {
+            throw new IOException("Некорректная ссылка на строку в бинарном снимке: " + index);
+        }
+        return index == 0 ? null : strings[index - 1];
+    }
+
+    private static int ordinal(int value, int count) throws IOException {
+        if (value >= count) {
+            throw new IOException("Некорректное значение перечисления в бинарном снимке: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a count or a byte length. Arrays are grown as the data arrives rather than allocated up front,
+     * so a corrupted length runs into the end of the file instead of exhausting the heap.
+     */
+    private int readLength() throws IOException {
+        long length = readVarLong();
+        if (length < 0 || length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Некорректная длина в бинарном снимке: " + length);
+        }
+        return (int) length;
+    }
+
+    private void verifyChecksum() throws IOException {
+        checksum.update(buffer, checksummed, position - checksummed);
+        checksummed = position;
+        long expected = checksum.getValue();
+        long stored = 0;
+        for (int i = 0; i < 4; i++) {
+            stored = (stored << 8) | readByte();
+        }
+        if (stored != expected) {
+            throw new IOException("Контрольная сумма снимка не совпадает: файл повреждён");
+        }
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit) {
+            checksum.update(buffer, checksummed, limit - checksummed);
+            limit = in.read(buffer);
+            position = 0;
+            checksummed = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new EOFException("Неожиданный конец бинарного снимка");
+            }
+            bytes += limit;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] result = new byte[Math.min(length, buffer.length)];
+        for (int i = 0; i < length; i++) {
+            if (i == result.length) {
+                result = Arrays.copyOf(result, (int) Math.min(length, 2L * result.length));
+            }
+            result[i] = (byte) readByte();
+        }
+        return result;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Некорректное число в бинарном снимке");
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writer of the binary snapshot format.
+ * <pre>
+ * header    : magic "TKBS", version byte
+ * strings   : varint count, then per string varint byte length + UTF-8 bytes
+ * entities  : varint count, then per entity
+ *             byte type ordinal, varint id, byte status ordinal,
+ *             varint name index + 1, varint description index + 1 (0 means null),
+ *             varint epic id (subtasks only),
+ *             byte flags (1 - duration, 2 - start time, 4 - start time has seconds or nanos),
+ *             zigzag varlong duration minutes, zigzag varlong start epoch minute (UTC),
+ *             varlong nanos within the minute
+ * trailer   : CRC32 of every preceding byte, 4 bytes big-endian (since version 2)
+ * </pre>
+ * Equal names and descriptions are written once thanks to the string table.
+ */
+public final class BinarySnapshotWriter {
+
+    static final byte[] MAGIC = {'T', 'K', 'B', 'S'};
+    static final int VERSION = 2;
+    static final int FIRST_CHECKSUM_VERSION = 2;
+
+    static final int HAS_DURATION = 1;
+    static final int HAS_START_TIME = 2;
+    static final int HAS_SUB_MINUTE = 4;
+
+    static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private BinarySnapshotWriter() {
+    }
+
+    public static void write(OutputStream target, Iterable<? extends Task> entities) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        int count = 0;
+        for (Task task : entities) {
+            intern(strings, task.getName());
+            intern(strings, task.getDescription());
+            count++;
+        }
+
+        CheckedOutputStream checked = new CheckedOutputStream(target, new CRC32());
+        OutputStream out = new BufferedOutputStream(checked, 64 * 1024);
+        out.write(MAGIC);
+        out.write(VERSION);
+
+        writeVarLong(out, strings.size());
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+
+        writeVarLong(out, count);
+        for (Task task : entities) {
+            writeEntity(out, task, strings);
+        }
+        out.flush();
+
+        long crc = checked.getChecksum().getValue();
+        target.write(new byte[]{(byte) (crc >>> 24), (byte) (crc >>> 16), (byte) (crc >>> 8), (byte) crc});
+        target.flush();
+    }
+
+    private static void writeEntity(OutputStream out, Task task, Map<String, Integer> strings) throws IOException {
+        out.write(task.getType().ordinal());
+        writeVarLong(out, task.getId());
+        out.write(task.getStatus().ordinal());
+        writeVarLong(out, stringIndex(strings, task.getName()));
+        writeVarLong(out, stringIndex(strings, task.getDescription()));
+        if (task.getType() == TaskType.SUBTASK) {
+            writeVarLong(out, ((Subtask) task).getEpicId());
+        }
+
+        LocalDateTime startTime = task.getStartTime();
+        long epochSecond = startTime == null ? 0 : startTime.toEpochSecond(ZoneOffset.UTC);
+        long subMinuteNanos = startTime == null ? 0
+                : Math.floorMod(epochSecond, 60) * NANOS_PER_SECOND + startTime.getNano();
+
+        int flags = 0;
+        if (task.getDuration() != null) flags |= HAS_DURATION;
+        if (startTime != null) flags |= HAS_START_TIME;
+        if (subMinuteNanos != 0) flags |= HAS_SUB_MINUTE;
+        out.write(flags);
+
+        if (task.getDuration() != null) {
+            writeVarLong(out, zigZag(task.getDuration().toMinutes()));
+        }
+        if (startTime != null) {
+            writeVarLong(out, zigZag(Math.floorDiv(epochSecond, 60)));
+        }
+        if (subMinuteNanos != 0) {
+            writeVarLong(out, subMinuteNanos);
+        }
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size());
+        }
+    }
+
+    private static int stringIndex(Map<String, Integer> strings, String value) {
+        return value == null ? 0 : strings.get(value) + 1;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+
+/**
+ * Numbered changes of the entities of one manager.
+ * <p>
+ * Each change becomes a {@link TaskEvent} that is handed to the registered listeners at once and kept in a
+ * ring of the last {@code capacity} events for consumers that poll by sequence number. Events are numbered
+ * without gaps, so a poller that gets a first event numbered beyond the one it asked for has fallen behind
+ * the ring and has to reload the board. An event holds the shared immutable snapshot the manager published,
+ * so the ring costs at most {@code capacity} constant-size snapshots. Recording is not thread-safe and is
+ * left to the manager's own locking; listeners may be added and removed from any thread.
+ * <p>
+ * Listeners are called in the middle of a mutation. An exception thrown by one of them is passed to the
+ * uncaught exception handler of the current thread and goes no further: the mutation completes and the
+ * other listeners still get the event.
+ */
+final class ChangeFeed {
+
+	static final int DEFAULT_CAPACITY = 1024;
+
+	private final TaskEvent[] ring;
+	private final List<Consumer<? super TaskEvent>> listeners = new CopyOnWriteArrayList<>();
+	private long sequence;
+
+	ChangeFeed(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		ring = new TaskEvent[capacity];
+	}
+
+	/**
+	 * Records the change of an entity from {@code previous} to {@code current}; either may be {@code null} for
+	 * a created or a deleted entity. Nothing is recorded if no field has changed.
+	 */
+	void record(TaskSnapshot previous, TaskSnapshot current) {
+		TaskEvent event;
+		if (previous == null) {
+			event = new TaskEvent(sequence + 1, TaskEvent.Kind.CREATED, current, Set.of());
+		} else if (current == null) {
+			event = new TaskEvent(sequence + 1, TaskEvent.Kind.DELETED, previous, Set.of());
+		} else {
+			EnumSet<TaskEvent.Field> changed = changedFields(previous, current);
+			if (changed.isEmpty()) {
+				return;
+			}
+			event = new TaskEvent(sequence + 1, TaskEvent.Kind.UPDATED, current, changed);
+		}
+		sequence = event.sequence();
+		ring[slot(sequence)] = event;
+		for (Consumer<? super TaskEvent> listener : listeners) {
+			try {
+				listener.accept(event);
+			} catch (RuntimeException e) {
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+			}
+		}
+	}
+
+	private static EnumSet<TaskEvent.Field> changedFields(TaskSnapshot previous, TaskSnapshot current) {
+		EnumSet<TaskEvent.Field> changed = EnumSet.noneOf(TaskEvent.Field.class);
+		if (!Objects.equals(previous.name(), current.name())) changed.add(TaskEvent.Field.NAME);
+		if (!Objects.equals(previous.description(), current.description())) changed.add(TaskEvent.Field.DESCRIPTION);
+		if (previous.status() != current.status()) changed.add(TaskEvent.Field.STATUS);
+		if (!Objects.equals(previous.duration(), current.duration())) changed.add(TaskEvent.Field.DURATION);
+		if (!Objects.equals(previous.startTime(), current.startTime())) changed.add(TaskEvent.Field.START_TIME);
+		if (!Objects.equals(previous.endTime(), current.endTime())) changed.add(TaskEvent.Field.END_TIME);
+		if (previous.epicId() != current.epicId()) changed.add(TaskEvent.Field.EPIC_ID);
+		return changed;
+	}
+
+	long lastSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Returns up to {@code limit} retained events numbered after {@code afterSequence}, oldest first.
+	 */
+	List<TaskEvent> since(long afterSequence, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("limit must not be negative: " + limit);
+		}
+		long from = Math.max(Math.max(afterSequence, 0), sequence - ring.length) + 1;
+		List<TaskEvent> events = new ArrayList<>((int) Math.min(limit, Math.max(sequence - from + 1, 0)));
+		for (long next = from; next <= sequence && events.size() < limit; next++) {
+			events.add(ring[slot(next)]);
+		}
+		return events;
+	}
+
+	void addListener(Consumer<? super TaskEvent> listener) {
+		listeners.add(Objects.requireNonNull(listener, "listener"));
+	}
+
+	void removeListener(Consumer<? super TaskEvent> listener) {
+		listeners.remove(listener);
+	}
+
+	private int slot(long sequence) {
+		return (int) (sequence % ring.length);
+	}
+}
@@ -0,0 +1,119 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+
+/**
+ * History manager that many threads may record views in at once without waiting for each other.
+ * <p>
+ * A view is only appended to a lock-free queue. The queue is drained in arrival order into an
+ * {@link InMemoryHistoryManager}, which keeps the "move to end, no duplicates" order. Draining happens
+ * before every {@link #remove} and {@link #getHistory()}, and also whenever enough views are pending and
+ * nobody else is draining. A thread recording a view never blocks: if another thread holds the drain lock,
+ * the view just stays queued for it.
+ */
+public class ConcurrentHistoryManager implements HistoryManager {
+
+	private static final int DRAIN_THRESHOLD = 64;
+
+	/**
+	 * A queued view; {@code task} is {@code null} for a view recorded by id only.
+	 */
+	private record View(int id, Task task) {
+	}
+
+	private final ConcurrentLinkedQueue<View> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private final ReentrantLock drainLock = new ReentrantLock();
+	private final HistoryManager ordered;
+
+	public ConcurrentHistoryManager() {
+		this(new InMemoryHistoryManager());
+	}
+
+	/**
+	 * Keeps at most {@code maxSize} entries, each for no longer than {@code maxAge} after its last view;
+	 * see {@link InMemoryHistoryManager#InMemoryHistoryManager(int, Duration)}.
+	 */
+	public ConcurrentHistoryManager(int maxSize, Duration maxAge) {
+		this(new InMemoryHistoryManager(maxSize, maxAge));
+	}
+
+	private ConcurrentHistoryManager(HistoryManager ordered) {
+		this.ordered = ordered;
+	}
+
+	@Override
+	public void add(Task task) {
+		if (task == null) {
+			return;
+		}
+		enqueue(new View(task.getId(), task));
+	}
+
+	@Override
+	public void add(int id) {
+		enqueue(new View(id, null));
+	}
+
+	private void enqueue(View view) {
+		pending.offer(view);
+		if (pendingCount.incrementAndGet() >= DRAIN_THRESHOLD && drainLock.tryLock()) {
+			try {
+				drain();
+			} finally {
+				drainLock.unlock();
+			}
+		}
+	}
+
+	@Override
+	public void remove(int id) {
+		drainLock.lock();
+		try {
+			drain();
+			ordered.remove(id);
+		} finally {
+			drainLock.unlock();
+		}
+	}
+
+	@Override
+	public List<Task> getHistory() {
+		drainLock.lock();
+		try {
+			drain();
+			return ordered.getHistory();
+		} finally {
+			drainLock.unlock();
+		}
+	}
+
+	@Override
+	public int[] getHistoryIds() {
+		drainLock.lock();
+		try {
+			drain();
+			return ordered.getHistoryIds();
+		} finally {
+			drainLock.unlock();
+		}
+	}
+
+	private void drain() {
+		View view;
+		while ((view = pending.poll()) != null) {
+			pendingCount.decrementAndGet();
+			if (view.task() != null) {
+				ordered.add(view.task());
+			} else {
+				ordered.add(view.id());
+			}
+		}
+	}
+}
@@ -0,0 +1,279 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+/**
+ * Thread-safe in-memory task manager.
+ * <p>
+ * Mutations take the write lock of a {@link ReentrantReadWriteLock}; reads share its read lock, so readers
+ * never wait for each other, only for writers. Reads still record views in the history; the default
+ * {@link ConcurrentHistoryManager} accepts them from many readers at once without a lock of its own.
+ * Results never expose live internal structures.
+ */
+public class ConcurrentTaskManager extends InMemoryTaskManager {
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Lock readLock = lock.readLock();
+	private final Lock writeLock = lock.writeLock();
+
+	public ConcurrentTaskManager() {
+		this(new ConcurrentHistoryManager());
+	}
+
+	protected ConcurrentTaskManager(HistoryManager historyManager) {
+		super(historyManager);
+	}
+
+	@Override
+	public ArrayList<Task> getTasks() {
+		return read(super::getTasks);
+	}
+
+	@Override
+	public ArrayList<Subtask> getSubtasks() {
+		return read(super::getSubtasks);
+	}
+
+	@Override
+	public ArrayList<Epic> getEpics() {
+		return read(super::getEpics);
+	}
+
+	@Override
+	public ArrayList<Subtask> getEpicSubtasks(int epicId) {
+		return read(() -> super.getEpicSubtasks(epicId));
+	}
+
+	@Override
+	public List<Task> getTasks(int afterId, int limit) {
+		return read(() -> super.getTasks(afterId, limit));
+	}
+
+	@Override
+	public List<Subtask> getSubtasks(int afterId, int limit) {
+		return read(() -> super.getSubtasks(afterId, limit));
+	}
+
+	@Override
+	public List<Epic> getEpics(int afterId, int limit) {
+		return read(() -> super.getEpics(afterId, limit));
+	}
+
+	@Override
+	public Optional<Task> getTask(int id) {
+		return read(() -> super.getTask(id));
+	}
+
+	@Override
+	public Optional<Subtask> getSubtask(int id) {
+		return read(() -> super.getSubtask(id));
+	}
+
+	@Override
+	public Optional<Epic> getEpic(int id) {
+		return read(() -> super.getEpic(id));
+	}
+
+	@Override
+	public Optional<TaskSnapshot> getSnapshot(int id) {
+		return read(() -> super.getSnapshot(id));
+	}
+
+	@Override
+	public List<TaskSnapshot> getSnapshots(TaskType type) {
+		return read(() -> super.getSnapshots(type));
+	}
+
+	@Override
+	public List<TaskSnapshot> getSnapshots(TaskType type, int afterId, int limit) {
+		return read(() -> super.getSnapshots(type, afterId, limit));
+	}
+
+	@Override
+	public long getLastSequence() {
+		return read(super::getLastSequence);
+	}
+
+	@Override
+	public List<TaskEvent> getChanges(long afterSequence, int limit) {
+		return read(() -> super.getChanges(afterSequence, limit));
+	}
+
+	@Override
+	public List<TaskSnapshot> getSnapshots(TaskType type, TaskStatus status) {
+		return read(() -> super.getSnapshots(type, status));
+	}
+
+	@Override
+	public int count(TaskType type) {
+		return read(() -> super.count(type));
+	}
+
+	@Override
+	public int count(TaskType type, TaskStatus status) {
+		return read(() -> super.count(type, status));
+	}
+
+	@Override
+	public List<TaskSnapshot> search(String query, int limit) {
+		return read(() -> super.search(query, limit));
+	}
+
+	@Override
+	public List<Task> getHistory() {
+		return read(super::getHistory);
+	}
+
+	@Override
+	public List<TaskSnapshot> getHistorySnapshots() {
+		return read(super::getHistorySnapshots);
+	}
+
+	@Override
+	public Optional<TaskSnapshot> getSnapshot(String userId, int id) {
+		return read(() -> super.getSnapshot(userId, id));
+	}
+
+	@Override
+	public List<TaskSnapshot> getHistorySnapshots(String userId) {
+		return read(() -> super.getHistorySnapshots(userId));
+	}
+
+	@Override
+	public List<Task> getPrioritizedTasks() {
+		return read(super::getPrioritizedTasks);
+	}
+
+	@Override
+	public NavigableSet<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+		return read(() -> super.getPrioritizedTasks(from, to));
+	}
+
+	@Override
+	public List<Task> getPrioritizedTasksAfter(Task after, int limit) {
+		return read(() -> super.getPrioritizedTasksAfter(after, limit));
+	}
+
+	@Override
+	public List<TimeConflict> findConflicts(Task candidate) {
+		return read(() -> super.findConflicts(candidate));
+	}
+
+	@Override
+	public Optional<TimeSlot> findFreeSlot(Duration duration, LocalDateTime from, LocalDateTime to) {
+		return read(() -> super.findFreeSlot(duration, from, to));
+	}
+
+	@Override
+	public List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to) {
+		return read(() -> super.findFreeSlots(duration, from, to));
+	}
+
+	@Override
+	public int addNewTask(Task task) {
+		return write(() -> super.addNewTask(task));
+	}
+
+	@Override
+	public int addNewEpic(Epic epic) {
+		return write(() -> super.addNewEpic(epic));
+	}
+
+	@Override
+	public Integer addNewSubtask(Subtask subtask) {
+		return write(() -> super.addNewSubtask(subtask));
+	}
+
+	@Override
+	public List<Integer> addAll(Collection<? extends Task> batch) {
+		return write(() -> super.addAll(batch));
+	}
+
+	@Override
+	public void updateTask(Task task) {
+		write(() -> super.updateTask(task));
+	}
+
+	@Override
+	public void updateEpic(Epic epic) {
+		write(() -> super.updateEpic(epic));
+	}
+
+	@Override
+	public void updateSubtask(Subtask subtask) {
+		write(() -> super.updateSubtask(subtask));
+	}
+
+	@Override
+	public void deleteTask(int id) {
+		write(() -> super.deleteTask(id));
+	}
+
+	@Override
+	public void deleteEpic(int id) {
+		write(() -> super.deleteEpic(id));
+	}
+
+	@Override
+	public void deleteSubtask(int id) {
+		write(() -> super.deleteSubtask(id));
+	}
+
+	@Override
+	public void deleteTasks() {
+		write(super::deleteTasks);
+	}
+
+	@Override
+	public void deleteSubtasks() {
+		write(super::deleteSubtasks);
+	}
+
+	@Override
+	public void deleteEpics() {
+		write(super::deleteEpics);
+	}
+
+	private <T> T read(Supplier<T> action) {
+		readLock.lock();
+		try {
+			return action.get();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	private <T> T write(Supplier<T> action) {
+		writeLock.lock();
+		try {
+			return action.get();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void write(Runnable action) {
+		writeLock.lock();
+		try {
+			action.run();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+}
@@ -0,0 +1,348 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Streaming reader of the CSV snapshot written by {@link FileBackedTaskManager}.
+ * <p>
+ * Rows are scanned byte by byte in a reusable buffer, so the heap used by the reader is bounded by the
+ * longest line regardless of the file size. Only names and descriptions are materialised as strings;
+ * numbers, enums and timestamps are parsed straight from the bytes.
+ */
+public final class CsvTaskReader implements SnapshotReader {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    static final String CHECKSUM_PREFIX = "#crc32,";
+    static final String HEADER = "id,type,name,status,description,epic,duration,startTime";
+    /**
+     * Header of snapshots ending with a checksum trailer; such a snapshot without the trailer is truncated.
+     */
+    static final String CHECKSUMMED_HEADER = HEADER + ",#crc32";
+
+    private static final byte[] CHECKSUM_PREFIX_BYTES = CHECKSUM_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHECKSUMMED_HEADER_BYTES = CHECKSUMMED_HEADER.getBytes(StandardCharsets.US_ASCII);
+
+    private static final int FIELDS = 8;
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final byte[][] TYPE_NAMES = enumNames(TYPES);
+    private static final byte[][] STATUS_NAMES = enumNames(STATUSES);
+
+    private final ReadableByteChannel channel;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean headerSkipped;
+    private final CRC32 checksum = new CRC32();
+    private boolean checksumVerified;
+    private boolean checksumRequired;
+
+    private final int[] fieldStart = new int[FIELDS];
+    private final int[] fieldEnd = new int[FIELDS];
+
+    private final long startedAt = System.nanoTime();
+    private long rows;
+    private long bytes;
+
+    public CsvTaskReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    CsvTaskReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+    }
+
+    public static CsvTaskReader open(Path path) throws IOException {
+        return new CsvTaskReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Returns the next entity or {@code null} when the input is exhausted. The header and blank lines are skipped.
+     * A {@code #crc32,<hex>} trailer line is checked against every byte before it. It is required when the header
+     * announces it; snapshots written before trailers were introduced are read without verification.
+     */
+    @Override
+    public Task next() throws IOException {
+        while (true) {
+            int lineEnd = findLineEnd();
+            if (lineEnd < 0) {
+                if (checksumRequired && !checksumVerified) {
+                    throw new IOException("Снимок обрезан: нет строки с контрольной суммой");
+                }
+                return null;
+            }
+            boolean terminated = lineEnd < limit;
+            int start = position;
+            int end = lineEnd;
+            position = Math.min(lineEnd + 1, limit);
+            int rawStart = start;
+
+            while (start < end && (buffer[start] & 0xFF) <= ' ') start++;
+            while (end > start && (buffer[end - 1] & 0xFF) <= ' ') end--;
+
+            if (checksumVerified) {
+                if (start != end) {
+                    throw new IOException("Данные после контрольной суммы: " + string(start, end));
+                }
+                continue;
+            }
+            if (startsWith(CHECKSUM_PREFIX_BYTES, start, end)) {
+                verifyChecksum(start + CHECKSUM_PREFIX_BYTES.length, end);
+                continue;
+            }
+            checksum.update(buffer, rawStart, position - rawStart);
+
+            if (!headerSkipped) {
+                checkHeader(start, end, terminated);
+                headerSkipped = true;
+                continue;
+            }
+            if (start == end) {
+                continue;
+            }
+            Task task = parseRow(start, end);
+            rows++;
+            return task;
+        }
+    }
+
+    /**
+     * Whether a checksum trailer has been read and matched.
+     */
+    public boolean isChecksumVerified() {
+        return checksumVerified;
+    }
+
+    @Override
+    public LoadStatistics statistics() {
+        return new LoadStatistics(rows, bytes, System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int findLineEnd() throws IOException {
+        int scanFrom = position;
+        while (true) {
+            for (int i = scanFrom; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    return i;
+                }
+            }
+            if (endOfInput) {
+                return position < limit ? limit : -1;
+            }
+            int scanned = limit - position;
+            fill();
+            scanFrom = position + scanned;
+        }
+    }
+
+    private void fill() throws IOException {
+        int pending = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, pending);
+        } else if (pending == buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, pending);
+            buffer = grown;
+        }
+        position = 0;
+        limit = pending;
+
+        int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+            bytes += read;
+        }
+    }
+
+    private Task parseRow(int start, int end) {
+        int fields = 0;
+        fieldStart[0] = start;
+        for (int i = start; i < end && fields < FIELDS - 1; i++) {
+            if (buffer[i] == ',') {
+                fieldEnd[fields] = i;
+                fieldStart[++fields] = i + 1;
+            }
+        }
+        fieldEnd[fields] = end;
+        for (int i = fields + 1; i < FIELDS; i++) {
+            fieldStart[i] = end;
+            fieldEnd[i] = end;
+        }
+        if (fields < 4) {
+            throw malformed(start, end);
+        }
+
+        int id = (int) parseLong(0, start, end);
+        TaskType type = TYPES[matchName(TYPE_NAMES, 1, start, end)];
+        String name = string(2);
+        TaskStatus status = STATUSES[matchName(STATUS_NAMES, 3, start, end)];
+        String description = string(4);
+
+        Task task = switch (type) {
+            case TASK -> new Task(id, name, description, status);
+            case EPIC -> new Epic(id, name, description);
+            case SUBTASK -> new Subtask(id, name, description, status, (int) parseLong(5, start, end));
+        };
+
+        if (fieldStart[6] < fieldEnd[6]) {
+            task.setDuration(Duration.ofMinutes(parseLong(6, start, end)));
+        }
+        if (fieldStart[7] < fieldEnd[7]) {
+            task.setStartTime(parseDateTime(buffer, fieldStart[7], fieldEnd[7]));
+        }
+        return task;
+    }
+
+    private void checkHeader(int start, int end, boolean terminated) throws IOException {
+        if (!terminated) {
+            throw new IOException("Снимок обрезан в заголовке: " + string(start, end));
+        }
+        if (Arrays.equals(buffer, start, end, CHECKSUMMED_HEADER_BYTES, 0, CHECKSUMMED_HEADER_BYTES.length)) {
+            checksumRequired = true;
+        } else if (!Arrays.equals(buffer, start, end, HEADER_BYTES, 0, HEADER_BYTES.length)) {
+            throw new IOException("Неизвестный заголовок снимка: " + string(start, end));
+        }
+    }
+
+    private boolean startsWith(byte[] prefix, int start, int end) {
+        return end - start >= prefix.length
+                && Arrays.equals(buffer, start, start + prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Compares the trailer with the hex form the writer produces, so the trailer itself cannot be altered unnoticed.
+     */
+    private void verifyChecksum(int start, int end) throws IOException {
+        if (!string(start, end).equals(Long.toHexString(checksum.getValue()))) {
+            throw new IOException("Контрольная сумма снимка не совпадает: файл повреждён");
+        }
+        checksumVerified = true;
+    }
+
+    private String string(int start, int end) {
+        return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private String string(int field) {
+        return new String(buffer, fieldStart[field], fieldEnd[field] - fieldStart[field], StandardCharsets.UTF_8);
+    }
+
+    private long parseLong(int field, int lineStart, int lineEnd) {
+        int from = fieldStart[field];
+        int to = fieldEnd[field];
+        boolean negative = from < to && buffer[from] == '-';
+        if (negative) from++;
+        if (from == to) {
+            throw malformed(lineStart, lineEnd);
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw malformed(lineStart, lineEnd);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private int matchName(byte[][] names, int field, int lineStart, int lineEnd) {
+        int from = fieldStart[field];
+        int length = fieldEnd[field] - from;
+        for (int ordinal = 0; ordinal < names.length; ordinal++) {
+            byte[] name = names[ordinal];
+            if (name.length == length && Arrays.equals(buffer, from, from + length, name, 0, length)) {
+                return ordinal;
+            }
+        }
+        throw malformed(lineStart, lineEnd);
+    }
+
+    private IllegalArgumentException malformed(int start, int end) {
+        return new IllegalArgumentException("Некорректная строка: " + string(start, end));
+    }
+
+    /**
+     * Parses the ISO form produced by {@link LocalDateTime#toString()} ({@code uuuu-MM-ddTHH:mm[:ss[.fraction]]})
+     * without allocating; anything else falls back to {@link LocalDateTime#parse(CharSequence)}.
+     */
+    static LocalDateTime parseDateTime(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (length >= 16 && bytes[from + 4] == '-' && bytes[from + 7] == '-' && bytes[from + 10] == 'T'
+                && bytes[from + 13] == ':') {
+            int year = digits(bytes, from, 4);
+            int month = digits(bytes, from + 5, 2);
+            int day = digits(bytes, from + 8, 2);
+            int hour = digits(bytes, from + 11, 2);
+            int minute = digits(bytes, from + 14, 2);
+            int second = 0;
+            int nano = 0;
+            boolean valid = year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0;
+
+            if (valid && length > 16) {
+                valid = length >= 19 && bytes[from + 16] == ':';
+                second = valid ? digits(bytes, from + 17, 2) : -1;
+                valid = second >= 0;
+                if (valid && length > 19) {
+                    int fraction = length - 20;
+                    valid = bytes[from + 19] == '.' && fraction >= 1 && fraction <= 9;
+                    nano = valid ? digits(bytes, from + 20, fraction) : -1;
+                    valid = nano >= 0;
+                    for (int i = fraction; valid && i < 9; i++) {
+                        nano *= 10;
+                    }
+                }
+            }
+            if (valid) {
+                return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            }
+        }
+        return LocalDateTime.parse(new String(bytes, from, length, StandardCharsets.US_ASCII));
+    }
+
+    private static int digits(byte[] bytes, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static byte[][] enumNames(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = value.name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.util.IntObjectHashMap;
+import ru.yandex.javacourse.schedule.util.IntSortedSet;
+
+/**
+ * Entities of one type by id, iterated in ascending id order.
+ * <p>
+ * Lookups go to an {@link IntObjectHashMap}; the ids are also kept in an {@link IntSortedSet}, which ids
+ * handed out in increasing order enter by appending. Iteration follows that set, so it does not depend on
+ * the hash layout, and {@link #valuesAfter(int)} starts right after a given id in O(log n) however many ids
+ * before it were deleted.
+ */
+final class EntityStore<T extends Task> {
+
+	private final IntObjectHashMap<T> byId = new IntObjectHashMap<>();
+	private final IntSortedSet ids = new IntSortedSet();
+	private final Collection<T> values = new AbstractCollection<>() {
+		@Override
+		public Iterator<T> iterator() {
+			return resolve(ids.iterator());
+		}
+
+		@Override
+		public int size() {
+			return byId.size();
+		}
+	};
+
+	int size() {
+		return byId.size();
+	}
+
+	boolean containsKey(int id) {
+		return byId.containsKey(id);
+	}
+
+	T get(int id) {
+		return byId.get(id);
+	}
+
+	T put(int id, T entity) {
+		T previous = byId.put(id, entity);
+		if (previous == null) {
+			ids.add(id);
+		}
+		return previous;
+	}
+
+	T remove(int id) {
+		T removed = byId.remove(id);
+		if (removed != null) {
+			ids.remove(id);
+		}
+		return removed;
+	}
+
+	void clear() {
+		byId.clear();
+		ids.clear();
+	}
+
+	/**
+	 * Returns a view of the entities in ascending id order.
+	 */
+	Collection<T> values() {
+		return values;
+	}
+
+	/**
+	 * Iterates the entities with ids greater than {@code afterId} in ascending id order.
+	 */
+	Iterator<T> valuesAfter(int afterId) {
+		return resolve(ids.iteratorAfter(afterId));
+	}
+
+	private Iterator<T> resolve(PrimitiveIterator.OfInt idIterator) {
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return idIterator.hasNext();
+			}
+
+			@Override
+			public T next() {
+				return byId.get(idIterator.nextInt());
+			}
+		};
+	}
+}
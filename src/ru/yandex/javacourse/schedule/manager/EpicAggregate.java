@@ -0,0 +1,80 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.TreeMap;
+
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+/**
+ * Running aggregates of the subtasks of one epic: subtask count per status, total duration and
+ * multisets of start and end times. Subtasks are added and removed by value, so a changed subtask
+ * is applied as removal of the old version plus addition of the new one.
+ */
+final class EpicAggregate {
+
+	private final int[] statusCounts = new int[TaskStatus.values().length];
+	private int size;
+	private Duration totalDuration = Duration.ZERO;
+	private final TreeMap<LocalDateTime, Integer> starts = new TreeMap<>();
+	private final TreeMap<LocalDateTime, Integer> ends = new TreeMap<>();
+
+	void add(Subtask subtask) {
+		statusCounts[subtask.getStatus().ordinal()]++;
+		size++;
+		if (subtask.getDuration() != null) {
+			totalDuration = totalDuration.plus(subtask.getDuration());
+		}
+		increment(starts, subtask.getStartTime());
+		increment(ends, subtask.getEndTime());
+	}
+
+	void remove(Subtask subtask) {
+		statusCounts[subtask.getStatus().ordinal()]--;
+		size--;
+		if (subtask.getDuration() != null) {
+			totalDuration = totalDuration.minus(subtask.getDuration());
+		}
+		decrement(starts, subtask.getStartTime());
+		decrement(ends, subtask.getEndTime());
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	TaskStatus status() {
+		if (size == 0 || statusCounts[TaskStatus.NEW.ordinal()] == size) {
+			return TaskStatus.NEW;
+		}
+		if (statusCounts[TaskStatus.DONE.ordinal()] == size) {
+			return TaskStatus.DONE;
+		}
+		return TaskStatus.IN_PROGRESS;
+	}
+
+	Duration totalDuration() {
+		return totalDuration;
+	}
+
+	LocalDateTime earliestStart() {
+		return starts.isEmpty() ? null : starts.firstKey();
+	}
+
+	LocalDateTime latestEnd() {
+		return ends.isEmpty() ? null : ends.lastKey();
+	}
+
+	private static void increment(TreeMap<LocalDateTime, Integer> counts, LocalDateTime time) {
+		if (time != null) {
+			counts.merge(time, 1, Integer::sum);
+		}
+	}
+
+	private static void decrement(TreeMap<LocalDateTime, Integer> counts, LocalDateTime time) {
+		if (time != null) {
+			counts.computeIfPresent(time, (key, count) -> count == 1 ? null : count - 1);
+		}
+	}
+}
@@ -10,11 +10,22 @@ import ru.yandex.javacourse.schedule.tasks.TaskType;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * File-backed task manager.
@@ -24,37 +35,107 @@ import java.time.LocalDateTime;
 public class FileBackedTaskManager extends InMemoryTaskManager implements TaskManager {
 
     private final File storageFile;
+    private final SnapshotFormat format;
+    private LoadStatistics loadStatistics = LoadStatistics.EMPTY;
 
     public FileBackedTaskManager(File storageFile) {
+        this(storageFile, SnapshotFormat.CSV);
+    }
+
+    public FileBackedTaskManager(File storageFile, SnapshotFormat format) {
         this.storageFile = storageFile;
+        this.format = format;
     }
 
+    public SnapshotFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns statistics of the last snapshot load, or {@link LoadStatistics#EMPTY} if nothing was loaded.
+     */
+    public LoadStatistics getLoadStatistics() {
+        return loadStatistics;
+    }
+
+    /**
+     * Writes the snapshot through {@link #writeAtomically(Path, SnapshotContent)}, so a crash in the middle
+     * of a save leaves the previous snapshot intact.
+     */
     protected void save() {
-        try (BufferedWriter writer = Files.newBufferedWriter(storageFile.toPath(), StandardCharsets.UTF_8)) {
-            writer.write("id,type,name,status,description,epic,duration,startTime");
+        try {
+            writeAtomically(storageFile.toPath(), this::writeSnapshot);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка сохранения данных в файл: " + storageFile, e);
+        }
+    }
+
+    /**
+     * Writes the current state to {@code out} in the configured format.
+     */
+    protected void writeSnapshot(OutputStream out) throws IOException {
+        switch (format) {
+            case CSV -> writeCsv(out);
+            case BINARY -> BinarySnapshotWriter.write(out, storedEntities());
+        }
+    }
+
+    protected File getStorageFile() {
+        return storageFile;
+    }
+
+    /**
+     * Writes the CSV snapshot followed by a {@code #crc32,<hex>} trailer line covering every byte before it. The
+     * header announces the trailer, so a snapshot cut off before it is rejected on load.
+     */
+    private void writeCsv(OutputStream out) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(out, new CRC32());
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(checked, StandardCharsets.UTF_8));
+        writer.write(CsvTaskReader.CHECKSUMMED_HEADER);
+        writer.newLine();
+
+        for (Task task : storedEntities()) {
+            writer.write(taskToString(task));
             writer.newLine();
+        }
+        writer.flush();
 
-            for (Task task : getTasks()) {
-                writer.write(taskToString(task));
-                writer.newLine();
-            }
+        String trailer = CsvTaskReader.CHECKSUM_PREFIX + Long.toHexString(checked.getChecksum().getValue())
+                + System.lineSeparator();
+        out.write(trailer.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
 
-            for (Epic epic : getEpics()) {
-                writer.write(taskToString(epic));
-                writer.newLine();
+    /**
+     * Writes {@code content} into a temporary file next to {@code target}, forces it to disk and atomically
+     * moves it over {@code target}. Readers never observe a half-written snapshot.
+     */
+    static void writeAtomically(Path target, SnapshotContent content) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream out = Channels.newOutputStream(channel);
+                content.writeTo(out);
+                out.flush();
+                channel.force(true);
             }
-
-            for (Subtask subtask : getSubtasks()) {
-                writer.write(taskToString(subtask));
-                writer.newLine();
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
             }
-
-        } catch (IOException e) {
-            throw new ManagerSaveException("Ошибка сохранения данных в файл: " + storageFile, e);
+        } finally {
+            Files.deleteIfExists(temp);
         }
     }
 
-    private static String taskToString(Task task) {
+    @FunctionalInterface
+    interface SnapshotContent {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    static String taskToString(Task task) {
         StringBuilder sb = new StringBuilder();
 
         sb.append(task.getId()).append(",");
@@ -82,7 +163,7 @@ public class FileBackedTaskManager extends InMemoryTaskManager implements TaskMa
     }
 
 
-    private static Task taskFromString(String value) {
+    static Task taskFromString(String value) {
         String[] fields = value.split(",", -1);
 
         int id = Integer.parseInt(fields[0]);
@@ -118,114 +199,168 @@ public class FileBackedTaskManager extends InMemoryTaskManager implements TaskMa
     }
 
 
+    /**
+     * Loads a snapshot in either format; the returned manager keeps writing in the format of the file.
+     */
     public static FileBackedTaskManager loadFromFile(File storageFile) {
-        FileBackedTaskManager manager = new FileBackedTaskManager(storageFile);
+        FileBackedTaskManager manager = new FileBackedTaskManager(storageFile, detectFormat(storageFile));
+        manager.restoreFrom(storageFile);
+        return manager;
+    }
 
-        if (!storageFile.exists()) {
-            return manager;
-        }
+    /**
+     * Converts a snapshot of any format into {@code target} written in {@code targetFormat}.
+     */
+    public static void convert(File source, File target, SnapshotFormat targetFormat) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(target, targetFormat);
+        manager.restoreFrom(source);
+        manager.save();
+    }
 
-        List<String> lines;
+    static SnapshotFormat detectFormat(File file) {
         try {
-            lines = Files.readAllLines(storageFile.toPath(), StandardCharsets.UTF_8);
+            return SnapshotFormat.detect(file.toPath());
         } catch (IOException e) {
-            throw new ManagerSaveException("Ошибка чтения файла: " + storageFile, e);
+            throw new ManagerSaveException("Ошибка чтения файла: " + file, e);
         }
+    }
 
-        if (lines.isEmpty()) {
-            return manager;
+    /**
+     * Streams the snapshot once, putting every row straight into the stores, and rebuilds the
+     * indexes at the end. Nothing is written back to disk. A corrupted or truncated snapshot fails with
+     * {@link ManagerSaveException}, whether the damage shows up as an I/O error or as a row that does not parse.
+     */
+    protected void restoreFrom(File snapshotFile) {
+        if (!snapshotFile.exists()) {
+            return;
         }
 
-
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty()) {
-                continue;
-            }
-            Task task = taskFromString(line);
-            switch (task.getType()) {
-                case TASK -> manager.addNewTask(task);
-                case EPIC -> manager.addNewEpic((Epic) task);
-                case SUBTASK -> manager.addNewSubtask((Subtask) task);
+        SnapshotFormat snapshotFormat = detectFormat(snapshotFile);
+        try (SnapshotReader reader = snapshotFormat == SnapshotFormat.BINARY
+                ? BinarySnapshotReader.open(snapshotFile.toPath())
+                : CsvTaskReader.open(snapshotFile.toPath())) {
+            Task task;
+            while ((task = reader.next()) != null) {
+                restoreEntity(task);
             }
+            loadStatistics = reader.statistics();
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка чтения файла: " + snapshotFile, e);
+        } catch (RuntimeException e) {
+            throw new ManagerSaveException("Повреждённый снимок: " + snapshotFile, e);
         }
 
-        return manager;
+        rebuildIndexes();
+    }
+
+    /**
+     * Called after an entity has been created or changed. By default rewrites the whole snapshot.
+     */
+    protected void onEntitySaved(int id) {
+        save();
+    }
+
+    /**
+     * Called once after a batch of entities has been added. By default rewrites the whole snapshot.
+     */
+    protected void onEntitiesAdded(List<Integer> ids) {
+        save();
+    }
+
+    /**
+     * Called after an entity (and everything depending on it) has been deleted.
+     */
+    protected void onEntityDeleted(int id) {
+        save();
+    }
+
+    /**
+     * Called after all entities of the given type have been deleted.
+     */
+    protected void onEntitiesCleared(TaskType type) {
+        save();
     }
 
     @Override
     public int addNewTask(Task task) {
         int id = super.addNewTask(task);
-        save();
+        onEntitySaved(id);
         return id;
     }
 
     @Override
     public int addNewEpic(Epic epic) {
         int id = super.addNewEpic(epic);
-        save();
+        onEntitySaved(id);
         return id;
     }
 
     @Override
     public Integer addNewSubtask(Subtask subtask) {
         Integer id = super.addNewSubtask(subtask);
-        save();
+        onEntitySaved(id == null ? -1 : id);
         return id;
     }
 
+    @Override
+    public List<Integer> addAll(Collection<? extends Task> batch) {
+        List<Integer> ids = super.addAll(batch);
+        onEntitiesAdded(ids);
+        return ids;
+    }
+
     @Override
     public void updateTask(Task task) {
         super.updateTask(task);
-        save();
+        onEntitySaved(task == null ? -1 : task.getId());
     }
 
     @Override
     public void updateEpic(Epic epic) {
         super.updateEpic(epic);
-        save();
+        onEntitySaved(epic == null ? -1 : epic.getId());
     }
 
     @Override
     public void updateSubtask(Subtask subtask) {
         super.updateSubtask(subtask);
-        save();
+        onEntitySaved(subtask == null ? -1 : subtask.getId());
     }
 
     @Override
     public void deleteTask(int id) {
         super.deleteTask(id);
-        save();
+        onEntityDeleted(id);
     }
 
     @Override
     public void deleteEpic(int id) {
         super.deleteEpic(id);
-        save();
+        onEntityDeleted(id);
     }
 
     @Override
     public void deleteSubtask(int id) {
         super.deleteSubtask(id);
-        save();
+        onEntityDeleted(id);
     }
 
     @Override
     public void deleteTasks() {
         super.deleteTasks();
-        save();
+        onEntitiesCleared(TaskType.TASK);
     }
 
     @Override
     public void deleteSubtasks() {
         super.deleteSubtasks();
-        save();
+        onEntitiesCleared(TaskType.SUBTASK);
     }
 
     @Override
     public void deleteEpics() {
         super.deleteEpics();
-        save();
+        onEntitiesCleared(TaskType.EPIC);
     }
 
     public static void main(String[] args) {
@@ -1,19 +1,30 @@
-package ru.yandex.javacourse.schedule.manager;
-
-import java.util.List;
-
-import ru.yandex.javacourse.schedule.tasks.Task;
-
-/**
- * History manager.
- *
- * @author Andrey Terzi (terzi.andrey.sergeevich@gmail.com)
- */
-public interface HistoryManager {
-
-	void add(Task task);
-
-	void remove(int id);
-
-	List<Task> getHistory();
-}
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.List;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+
+/**
+ * History manager.
+ *
+ * @author Andrey Terzi (terzi.andrey.sergeevich@gmail.com)
+ */
+public interface HistoryManager {
+
+	void add(Task task);
+
+	/**
+	 * Records a view of the entity with {@code id} without keeping a reference to it. Such views are
+	 * listed by {@link #getHistoryIds()} only: the owner of the entities resolves them when reading.
+	 */
+	void add(int id);
+
+	void remove(int id);
+
+	List<Task> getHistory();
+
+	/**
+	 * Returns the ids of all viewed entities, oldest first.
+	 */
+	int[] getHistoryIds();
+}
@@ -1,99 +1,191 @@
-package ru.yandex.javacourse.schedule.manager;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
-
-import ru.yandex.javacourse.schedule.tasks.Task;
-
-/**
- * In memory history manager.
- *
- * @author Andrey Terzi (terzi.andrey.sergeevich@gmail.com)
- */
-public class InMemoryHistoryManager implements HistoryManager {
-
-	private static class Node {
-		Task task;
-		Node prev;
-		Node next;
-
-		Node(Task task) {
-			this.task = task;
-		}
-	}
-
-	private final Map<Integer, Node> index = new HashMap<>();
-
-	private Node head;
-	private Node tail;
-
-	@Override
-	public void add(Task task) {
-		if (task == null) {
-			return;
-		}
-		int id = task.getId();
-
-		Node existed = index.remove(id);
-		if (existed != null) {
-			removeNode(existed);
-		}
-
-		Node node = new Node(task);
-		linkLast(node);
-		index.put(id, node);
-	}
-
-	@Override
-	public void remove(int id) {
-		Node node = index.remove(id);
-		if (node != null) {
-			removeNode(node);
-		}
-	}
-
-	@Override
-	public List<Task> getHistory() {
-		List<Task> result = new ArrayList<>();
-		for (Node current = head; current != null; current = current.next) {
-			result.add(current.task);
-		}
-		return result;
-	}
-
-	private void linkLast(Node node) {
-		if (tail == null) {
-			head = tail = node;
-			return;
-		}
-		tail.next = node;
-		node.prev = tail;
-		tail = node;
-	}
-
-	private void removeNode(Node node) {
-		if (node == null) {
-			return;
-		}
-
-		Node previousNode = node.prev;
-		Node nextNode = node.next;
-
-		if (previousNode != null) {
-			previousNode.next = nextNode;
-		} else {
-			head = nextNode;
-		}
-
-		if (nextNode != null) {
-			nextNode.prev = previousNode;
-		} else {
-			tail = previousNode;
-		}
-
-		node.prev = null;
-		node.next = null;
-	}
-}
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.util.IntObjectHashMap;
+
+/**
+ * In memory history manager.
+ * <p>
+ * The history may be capped by the number of entries and by the age of the last view. Entries are kept in
+ * view order, so the oldest one is always the head of the list and is evicted in O(1).
+ * <p>
+ * The list itself holds ids only. Tasks passed to {@link #add(Task)} are kept aside for
+ * {@link #getHistory()}; views recorded with {@link #add(int)} keep no reference at all.
+ *
+ * @author Andrey Terzi (terzi.andrey.sergeevich@gmail.com)
+ */
+public class InMemoryHistoryManager implements HistoryManager {
+
+	private static class Node {
+		final int id;
+		long viewedAt;
+		Node prev;
+		Node next;
+
+		Node(int id, long viewedAt) {
+			this.id = id;
+			this.viewedAt = viewedAt;
+		}
+	}
+
+	private final IntObjectHashMap<Node> index = new IntObjectHashMap<>();
+	private final IntObjectHashMap<Task> tasks = new IntObjectHashMap<>();
+
+	private Node head;
+	private Node tail;
+
+	private final int maxSize;
+	private final long maxAgeMillis;
+	private final Clock clock;
+
+	public InMemoryHistoryManager() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxSize the most entries kept; the least recently viewed one is evicted first
+	 */
+	public InMemoryHistoryManager(int maxSize) {
+		this(maxSize, null);
+	}
+
+	/**
+	 * @param maxSize the most entries kept; the least recently viewed one is evicted first
+	 * @param maxAge  how long an entry is kept after its last view, or {@code null} for no limit
+	 */
+	public InMemoryHistoryManager(int maxSize, Duration maxAge) {
+		this(maxSize, maxAge, Clock.systemUTC());
+	}
+
+	InMemoryHistoryManager(int maxSize, Duration maxAge, Clock clock) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+		if (maxAge != null && (maxAge.isNegative() || maxAge.isZero())) {
+			throw new IllegalArgumentException("maxAge must be positive: " + maxAge);
+		}
+		this.maxSize = maxSize;
+		this.maxAgeMillis = maxAge == null ? Long.MAX_VALUE : maxAge.toMillis();
+		this.clock = clock;
+	}
+
+	@Override
+	public void add(Task task) {
+		if (task == null) {
+			return;
+		}
+		tasks.put(task.getId(), task);
+		record(task.getId());
+	}
+
+	@Override
+	public void add(int id) {
+		tasks.remove(id);
+		record(id);
+	}
+
+	private void record(int id) {
+		Node existed = index.remove(id);
+		if (existed != null) {
+			removeNode(existed);
+		}
+
+		long now = clock.millis();
+		Node node = new Node(id, now);
+		linkLast(node);
+		index.put(id, node);
+
+		if (index.size() > maxSize) {
+			evictHead();
+		}
+		evictExpired(now);
+	}
+
+	@Override
+	public void remove(int id) {
+		tasks.remove(id);
+		Node node = index.remove(id);
+		if (node != null) {
+			removeNode(node);
+		}
+	}
+
+	@Override
+	public List<Task> getHistory() {
+		evictExpired(clock.millis());
+		List<Task> result = new ArrayList<>(index.size());
+		for (Node current = head; current != null; current = current.next) {
+			Task task = tasks.get(current.id);
+			if (task != null) {
+				result.add(task);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public int[] getHistoryIds() {
+		evictExpired(clock.millis());
+		int[] ids = new int[index.size()];
+		int i = 0;
+		for (Node current = head; current != null; current = current.next) {
+			ids[i++] = current.id;
+		}
+		return ids;
+	}
+
+	private void evictExpired(long now) {
+		if (maxAgeMillis == Long.MAX_VALUE) {
+			return;
+		}
+		while (head != null && now - head.viewedAt > maxAgeMillis) {
+			evictHead();
+		}
+	}
+
+	private void evictHead() {
+		Node oldest = head;
+		index.remove(oldest.id);
+		tasks.remove(oldest.id);
+		removeNode(oldest);
+	}
+
+	private void linkLast(Node node) {
+		if (tail == null) {
+			head = tail = node;
+			return;
+		}
+		tail.next = node;
+		node.prev = tail;
+		tail = node;
+	}
+
+	private void removeNode(Node node) {
+		if (node == null) {
+			return;
+		}
+
+		Node previousNode = node.prev;
+		Node nextNode = node.next;
+
+		if (previousNode != null) {
+			previousNode.next = nextNode;
+		} else {
+			head = nextNode;
+		}
+
+		if (nextNode != null) {
+			nextNode.prev = previousNode;
+		} else {
+			tail = previousNode;
+		}
+
+		node.prev = null;
+		node.next = null;
+	}
+}
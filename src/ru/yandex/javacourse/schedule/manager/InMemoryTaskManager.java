@@ -1,460 +1,1014 @@
-package ru.yandex.javacourse.schedule.manager;
-
-import java.util.*;
-import java.time.Duration;
-import java.time.LocalDateTime;
-
-import ru.yandex.javacourse.schedule.tasks.Epic;
-import ru.yandex.javacourse.schedule.tasks.Subtask;
-import ru.yandex.javacourse.schedule.tasks.Task;
-import ru.yandex.javacourse.schedule.tasks.TaskStatus;
-import ru.yandex.javacourse.schedule.exceptions.ManagerValidateException;
-
-public class InMemoryTaskManager implements TaskManager {
-
-	private final Map<Integer, Task> tasks = new HashMap<>();
-	private final Map<Integer, Epic> epics = new HashMap<>();
-	private final Map<Integer, Subtask> subtasks = new HashMap<>();
-	private int generatorId = 0;
-
-	private final HistoryManager historyManager = Managers.getDefaultHistory();
-
-
-	private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
-	private static final int MINUTES_IN_YEAR = 365 * 24 * 60;
-	private final BitSet occupiedMinutes = new BitSet(MINUTES_IN_YEAR);
-
-
-	private int toMinuteIndex(LocalDateTime time) {
-		return (int) Duration.between(BASE_TIME, time).toMinutes();
-	}
-
-
-	private boolean isIntervalFree(Task task) {
-		if (task.getStartTime() == null || task.getEndTime() == null) return true;
-		int start = toMinuteIndex(task.getStartTime());
-		int end = toMinuteIndex(task.getEndTime());
-		return occupiedMinutes.nextSetBit(start) >= end || occupiedMinutes.nextSetBit(start) == -1;
-	}
-
-
-	private void markIntervals(Task task, boolean occupy) {
-		if (task.getStartTime() == null || task.getEndTime() == null) return;
-		int start = toMinuteIndex(task.getStartTime());
-		int end = toMinuteIndex(task.getEndTime());
-		occupiedMinutes.set(start, end, occupy);
-	}
-
-	private Task copyTask(Task t) {
-		if (t == null) return null;
-
-		Task copy = new Task(t.getId(), t.getName(), t.getDescription(), t.getStatus());
-		copy.setDuration(t.getDuration());
-		copy.setStartTime(t.getStartTime());
-		return copy;
-	}
-
-	private Epic copyEpic(Epic epic) {
-		if (epic == null) return null;
-
-		Epic copyEpic = new Epic(epic.getId(), epic.getName(), epic.getDescription());
-		copyEpic.setStatus(epic.getStatus());
-
-		for (Integer sid : epic.getSubtaskIds()) {
-			copyEpic.addSubtaskId(sid);
-		}
-
-		copyEpic.setCalculatedFields(epic.getDuration(), epic.getStartTime(), epic.getEndTime());
-
-		return copyEpic;
-	}
-
-	private Subtask copySubtask(Subtask subtask) {
-		if (subtask == null) return null;
-
-		Subtask copy = new Subtask(
-				subtask.getId(),
-				subtask.getName(),
-				subtask.getDescription(),
-				subtask.getStatus(),
-				subtask.getEpicId()
-		);
-		copy.setDuration(subtask.getDuration());
-		copy.setStartTime(subtask.getStartTime());
-		return copy;
-	}
-
-	private final NavigableSet<Task> prioritizedTasks = new TreeSet<>(
-			Comparator.comparing(Task::getStartTime)
-					.thenComparingInt(Task::getId)
-	);
-
-	private void addToPrioritized(Task task) {
-		if (task == null || task.getStartTime() == null) return;
-		prioritizedTasks.add(task);
-		markIntervals(task, true);
-	}
-
-	private void removeFromPrioritized(Task task) {
-		if (task == null || task.getStartTime() == null) return;
-		prioritizedTasks.remove(task);
-		markIntervals(task, false);
-	}
-
-	@Override
-	public ArrayList<Task> getTasks() {
-		return tasks.values().stream()
-				.map(this::copyTask)
-				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
-	}
-
-	@Override
-	public ArrayList<Subtask> getSubtasks() {
-		return subtasks.values().stream()
-				.map(this::copySubtask)
-				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
-	}
-
-	@Override
-	public ArrayList<Epic> getEpics() {
-		return epics.values().stream()
-				.map(this::copyEpic)
-				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
-	}
-
-	@Override
-	public ArrayList<Subtask> getEpicSubtasks(int epicId) {
-		Epic epic = epics.get(epicId);
-		if (epic == null) return new ArrayList<>();
-
-		return epic.getSubtaskIds().stream()
-				.map(subtasks::get)
-				.filter(java.util.Objects::nonNull)
-				.map(this::copySubtask)
-				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
-	}
-
-	@Override
-	public Optional<Task> getTask(int id) {
-		Task task = tasks.get(id);
-		if (task != null) {
-			historyManager.add(task);
-			return Optional.of(copyTask(task));
-		}
-		return Optional.empty();
-	}
-
-
-	@Override
-	public Optional<Subtask> getSubtask(int id) {
-		Subtask subtask = subtasks.get(id);
-		if (subtask != null) {
-			historyManager.add(subtask);
-			return Optional.of(copySubtask(subtask));
-		}
-		return Optional.empty();
-	}
-
-	@Override
-	public Optional<Epic> getEpic(int id) {
-		Epic epic = epics.get(id);
-		if (epic != null) {
-			historyManager.add(epic);
-			return Optional.of(copyEpic(epic));
-		}
-		return Optional.empty();
-	}
-
-
-	@Override
-	public int addNewTask(Task task) {
-		if (task == null) return -1;
-		int id = ++generatorId;
-		Task copy = copyTask(task);
-		copy.setId(id);
-		validateNoIntersections(copy);
-		tasks.put(id, copy);
-		addToPrioritized(copy);
-		return id;
-	}
-
-	@Override
-	public int addNewEpic(Epic epic) {
-		if (epic == null) return -1;
-		int id = ++generatorId;
-		Epic copy = copyEpic(epic);
-		copy.setId(id);
-		epics.put(id, copy);
-		return id;
-	}
-
-	@Override
-	public Integer addNewSubtask(Subtask subtask) {
-		if (subtask == null) return null;
-
-		int targetEpicId = subtask.getEpicId();
-		Epic targetEpic = epics.get(targetEpicId);
-		if (targetEpic == null) return null;
-
-		int id = subtask.getId();
-
-		if (id <= 0 || !subtasks.containsKey(id)) {
-			id = ++generatorId;
-			Subtask copy = copySubtask(subtask);
-			copy.setId(id);
-
-			validateNoIntersections(copy);
-			subtasks.put(id, copy);
-			addToPrioritized(copy);
-			targetEpic.addSubtaskId(id);
-			updateEpicStatus(targetEpicId);
-			return id;
-		}
-
-		Subtask prev = subtasks.get(id);
-		if (prev != null) {
-			removeFromPrioritized(prev);
-			int prevEpicId = prev.getEpicId();
-
-			if (prevEpicId != targetEpicId) {
-				Epic prevEpic = epics.get(prevEpicId);
-				if (prevEpic != null) {
-					prevEpic.removeSubtaskId(id);
-					updateEpicStatus(prevEpicId);
-				}
-				targetEpic.addSubtaskId(id);
-			}
-		}
-
-		Subtask copy = copySubtask(subtask);
-		subtasks.put(id, copy);
-		validateNoIntersections(copy);
-		addToPrioritized(copy);
-		updateEpicStatus(targetEpicId);
-
-		return id;
-	}
-
-	@Override
-	public void updateTask(Task task) {
-		if (task == null) return;
-
-		int id = task.getId();
-		Task old = tasks.get(id);
-		if (old == null) return;
-
-		Task copy = copyTask(task);
-
-		validateNoIntersections(copy);
-
-		removeFromPrioritized(old);
-		tasks.put(id, copy);
-		addToPrioritized(copy);
-	}
-
-
-	@Override
-	public void updateEpic(Epic epic) {
-		if (epic == null) return;
-		final int id = epic.getId();
-		Epic saved = epics.get(id);
-		if (saved == null) return;
-		saved.setName(epic.getName());
-		saved.setDescription(epic.getDescription());
-	}
-
-	@Override
-	public void updateSubtask(Subtask subtask) {
-		if (subtask == null) return;
-
-		int id = subtask.getId();
-		Subtask old = subtasks.get(id);
-		if (old == null) return;
-
-		Epic epic = epics.get(subtask.getEpicId());
-		if (epic == null) return;
-
-		Subtask copy = copySubtask(subtask);
-
-		validateNoIntersections(copy);
-
-		removeFromPrioritized(old);
-		subtasks.put(id, copy);
-		addToPrioritized(copy);
-
-		updateEpicStatus(subtask.getEpicId());
-	}
-
-
-	@Override
-	public void deleteTask(int id) {
-		Task removed = tasks.remove(id);
-		removeFromPrioritized(removed);
-		historyManager.remove(id);
-	}
-
-	@Override
-	public void deleteEpic(int id) {
-		final Epic epic = epics.remove(id);
-		if (epic == null) return;
-		for (Integer subtaskId : epic.getSubtaskIds()) {
-			Subtask removedSub = subtasks.remove(subtaskId);
-			removeFromPrioritized(removedSub);
-			historyManager.remove(subtaskId);
-		}
-		historyManager.remove(id);
-	}
-
-	@Override
-	public void deleteSubtask(int id) {
-		Subtask removed = subtasks.remove(id);
-		if (removed == null) return;
-
-		removeFromPrioritized(removed);
-
-		Epic epic = epics.get(removed.getEpicId());
-		if (epic != null) {
-			epic.removeSubtaskId(id);
-			updateEpicStatus(epic.getId());
-		}
-
-		historyManager.remove(id);
-	}
-
-	@Override
-	public void deleteTasks() {
-		for (Task t : tasks.values()) {
-			removeFromPrioritized(t);
-			historyManager.remove(t.getId());
-		}
-		tasks.clear();
-	}
-
-	@Override
-	public void deleteSubtasks() {
-		for (Epic epic : epics.values()) {
-			epic.clearSubtaskIds();
-			updateEpicStatus(epic.getId());
-		}
-		for (Subtask st : subtasks.values()) {
-			removeFromPrioritized(st);
-			historyManager.remove(st.getId());
-		}
-		subtasks.clear();
-	}
-
-	@Override
-	public void deleteEpics() {
-		for (Epic epic : epics.values()) {
-			for (Integer subId : epic.getSubtaskIds()) {
-				historyManager.remove(subId);
-			}
-			historyManager.remove(epic.getId());
-		}
-		for (Subtask st : subtasks.values()) {
-			removeFromPrioritized(st);
-			historyManager.remove(st.getId());
-		}
-		epics.clear();
-		subtasks.clear();
-	}
-
-	@Override
-	public List<Task> getHistory() {
-		return historyManager.getHistory().stream()
-				.map(task -> switch (task.getType()) {
-					case SUBTASK -> copySubtask((Subtask) task);
-					case EPIC -> copyEpic((Epic) task);
-					case TASK -> copyTask(task);
-				})
-				.collect(java.util.stream.Collectors.toList());
-	}
-
-	private void updateEpicStatus(int epicId) {
-		Epic epic = epics.get(epicId);
-		if (epic == null) return;
-
-		List<Integer> subtaskIds = epic.getSubtaskIds();
-		if (subtaskIds.isEmpty()) {
-			epic.setStatus(TaskStatus.NEW);
-			updateEpicTime(epicId);
-			return;
-		}
-
-		List<Subtask> epicSubtasks = subtaskIds.stream()
-				.map(subtasks::get)
-				.filter(java.util.Objects::nonNull)
-				.toList();
-
-		if (epicSubtasks.isEmpty()) {
-			epic.setStatus(TaskStatus.NEW);
-			updateEpicTime(epicId);
-			return;
-		}
-
-		boolean allNew = epicSubtasks.stream()
-				.allMatch(st -> st.getStatus() == TaskStatus.NEW);
-
-		boolean allDone = epicSubtasks.stream()
-				.allMatch(st -> st.getStatus() == TaskStatus.DONE);
-
-		if (allNew) {
-			epic.setStatus(TaskStatus.NEW);
-		} else if (allDone) {
-			epic.setStatus(TaskStatus.DONE);
-		} else {
-			epic.setStatus(TaskStatus.IN_PROGRESS);
-		}
-
-		updateEpicTime(epicId);
-	}
-
-	private void updateEpicTime(int epicId) {
-		Epic epic = epics.get(epicId);
-		if (epic == null) return;
-
-		List<Integer> subtaskIds = epic.getSubtaskIds();
-		if (subtaskIds.isEmpty()) {
-			epic.setCalculatedFields(Duration.ZERO, null, null);
-			return;
-		}
-
-		var epicSubtasks = subtaskIds.stream()
-				.map(subtasks::get)
-				.filter(java.util.Objects::nonNull)
-				.toList();
-
-		Duration totalDuration = epicSubtasks.stream()
-				.map(Subtask::getDuration)
-				.filter(java.util.Objects::nonNull)
-				.reduce(Duration.ZERO, Duration::plus);
-
-		LocalDateTime earliestStart = epicSubtasks.stream()
-				.map(Subtask::getStartTime)
-				.filter(java.util.Objects::nonNull)
-				.min(LocalDateTime::compareTo)
-				.orElse(null);
-
-		LocalDateTime latestEnd = epicSubtasks.stream()
-				.map(Subtask::getEndTime)
-				.filter(java.util.Objects::nonNull)
-				.max(LocalDateTime::compareTo)
-				.orElse(null);
-
-		epic.setCalculatedFields(totalDuration, earliestStart, latestEnd);
-	}
-
-
-	@Override
-	public List<Task> getPrioritizedTasks() {
-		return new ArrayList<>(prioritizedTasks);
-	}
-
-	private void validateNoIntersections(Task candidate) {
-		if (!isIntervalFree(candidate)) {
-			throw new ManagerValidateException("Задача пересекается по времени с уже существующей: id=" + candidate.getId());
-		}
-	}
-}
-
-
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+import ru.yandex.javacourse.schedule.exceptions.ManagerValidateException;
+import ru.yandex.javacourse.schedule.exceptions.TaskIntersectionException;
+import ru.yandex.javacourse.schedule.util.IntObjectHashMap;
+
+public class InMemoryTaskManager implements TaskManager {
+
+	private final EntityStore<Task> tasks = new EntityStore<>();
+	private final EntityStore<Epic> epics = new EntityStore<>();
+	private final EntityStore<Subtask> subtasks = new EntityStore<>();
+	private final IntObjectHashMap<EpicAggregate> epicAggregates = new IntObjectHashMap<>();
+	private final IntObjectHashMap<TaskSnapshot> snapshots = new IntObjectHashMap<>();
+	private final StatusIndex statusIndex = new StatusIndex();
+	private final TextIndex textIndex = new TextIndex();
+	private int generatorId = 0;
+
+	private static final int STREAM_PAGE_SIZE = 256;
+
+	private final HistoryManager historyManager;
+	private final UserHistoryStore userHistories = new UserHistoryStore(UserHistoryStore.DEFAULT_CAPACITY);
+	private final ChangeFeed changes = new ChangeFeed(ChangeFeed.DEFAULT_CAPACITY);
+
+
+	private final TimeSlotIndex timeSlots = new TimeSlotIndex();
+
+	public InMemoryTaskManager() {
+		this(Managers.getDefaultHistory());
+	}
+
+	protected InMemoryTaskManager(HistoryManager historyManager) {
+		this.historyManager = historyManager;
+	}
+
+	private Task copyTask(Task t) {
+		if (t == null) return null;
+
+		Task copy = new Task(t.getId(), t.getName(), t.getDescription(), t.getStatus());
+		copy.setDuration(t.getDuration());
+		copy.setStartTime(t.getStartTime());
+		return copy;
+	}
+
+	private Epic copyEpic(Epic epic) {
+		if (epic == null) return null;
+
+		Epic copyEpic = new Epic(epic.getId(), epic.getName(), epic.getDescription());
+		copyEpic.setStatus(epic.getStatus());
+
+		epic.forEachSubtaskId(copyEpic::addSubtaskId);
+
+		copyEpic.setCalculatedFields(epic.getDuration(), epic.getStartTime(), epic.getEndTime());
+
+		return copyEpic;
+	}
+
+	private Subtask copySubtask(Subtask subtask) {
+		if (subtask == null) return null;
+
+		Subtask copy = new Subtask(
+				subtask.getId(),
+				subtask.getName(),
+				subtask.getDescription(),
+				subtask.getStatus(),
+				subtask.getEpicId()
+		);
+		copy.setDuration(subtask.getDuration());
+		copy.setStartTime(subtask.getStartTime());
+		return copy;
+	}
+
+	/**
+	 * Copies a task or subtask from the prioritized index, keeping its type.
+	 */
+	private Task copyScheduled(Task task) {
+		return task instanceof Subtask subtask ? copySubtask(subtask) : copyTask(task);
+	}
+
+	private final NavigableSet<Task> prioritizedTasks = new TreeSet<>(
+			Comparator.comparing(Task::getStartTime)
+					.thenComparingInt(Task::getId)
+	);
+
+	private void addToPrioritized(Task task) {
+		if (task == null || task.getStartTime() == null) return;
+		prioritizedTasks.add(task);
+		timeSlots.add(task);
+	}
+
+	private void removeFromPrioritized(Task task) {
+		if (task == null || task.getStartTime() == null) return;
+		prioritizedTasks.remove(task);
+		timeSlots.remove(task);
+	}
+
+	@Override
+	public ArrayList<Task> getTasks() {
+		return tasks.values().stream()
+				.map(this::copyTask)
+				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
+	}
+
+	@Override
+	public ArrayList<Subtask> getSubtasks() {
+		return subtasks.values().stream()
+				.map(this::copySubtask)
+				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
+	}
+
+	@Override
+	public ArrayList<Epic> getEpics() {
+		return epics.values().stream()
+				.map(this::copyEpic)
+				.collect(java.util.stream.Collectors.toCollection(ArrayList::new));
+	}
+
+	@Override
+	public ArrayList<Subtask> getEpicSubtasks(int epicId) {
+		Epic epic = epics.get(epicId);
+		if (epic == null) return new ArrayList<>();
+
+		ArrayList<Subtask> result = new ArrayList<>(epic.getSubtaskCount());
+		epic.forEachSubtaskId(subtaskId -> {
+			Subtask subtask = subtasks.get(subtaskId);
+			if (subtask != null) result.add(copySubtask(subtask));
+		});
+		return result;
+	}
+
+	@Override
+	public List<Task> getTasks(int afterId, int limit) {
+		return page(tasks, afterId, limit, this::copyTask);
+	}
+
+	@Override
+	public List<Subtask> getSubtasks(int afterId, int limit) {
+		return page(subtasks, afterId, limit, this::copySubtask);
+	}
+
+	@Override
+	public List<Epic> getEpics(int afterId, int limit) {
+		return page(epics, afterId, limit, this::copyEpic);
+	}
+
+	@Override
+	public Stream<Task> streamTasks() {
+		return pages(this::getTasks);
+	}
+
+	@Override
+	public Stream<Subtask> streamSubtasks() {
+		return pages(this::getSubtasks);
+	}
+
+	@Override
+	public Stream<Epic> streamEpics() {
+		return pages(this::getEpics);
+	}
+
+	/**
+	 * Collects copies of the entities of {@code store} with ids after {@code afterId} by a range scan of its
+	 * sorted ids, so a page costs O(log n) plus its own size.
+	 */
+	private <T extends Task> List<T> page(EntityStore<T> store, int afterId, int limit, Function<T, T> copy) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("limit must not be negative: " + limit);
+		}
+		List<T> page = new ArrayList<>(Math.min(limit, store.size()));
+		for (Iterator<T> it = store.valuesAfter(afterId); it.hasNext() && page.size() < limit; ) {
+			page.add(copy.apply(it.next()));
+		}
+		return page;
+	}
+
+	/**
+	 * Streams the pages returned by {@code page}, asking for the next one only when the previous one is
+	 * consumed. Pages are fetched through the public paging methods, so subclasses guarding them guard the
+	 * stream too.
+	 */
+	private static <T extends Task> Stream<T> pages(PageSource<T> page) {
+		Iterator<T> iterator = new Iterator<>() {
+			private List<T> current = List.of();
+			private int index;
+			private int lastId;
+			private boolean exhausted;
+
+			@Override
+			public boolean hasNext() {
+				while (index == current.size()) {
+					if (exhausted) return false;
+					current = page.fetch(lastId, STREAM_PAGE_SIZE);
+					index = 0;
+					exhausted = current.size() < STREAM_PAGE_SIZE;
+					if (!current.isEmpty()) lastId = current.getLast().getId();
+				}
+				return true;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				return current.get(index++);
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	@FunctionalInterface
+	private interface PageSource<T> {
+		List<T> fetch(int afterId, int limit);
+	}
+
+	@Override
+	public Optional<Task> getTask(int id) {
+		Task task = tasks.get(id);
+		if (task != null) {
+			historyManager.add(id);
+			return Optional.of(copyTask(task));
+		}
+		return Optional.empty();
+	}
+
+
+	@Override
+	public Optional<Subtask> getSubtask(int id) {
+		Subtask subtask = subtasks.get(id);
+		if (subtask != null) {
+			historyManager.add(id);
+			return Optional.of(copySubtask(subtask));
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<Epic> getEpic(int id) {
+		Epic epic = epics.get(id);
+		if (epic != null) {
+			historyManager.add(id);
+			return Optional.of(copyEpic(epic));
+		}
+		return Optional.empty();
+	}
+
+
+	@Override
+	public int addNewTask(Task task) {
+		if (task == null) return -1;
+		validateStatus(task);
+		int id = ++generatorId;
+		Task copy = copyTask(task);
+		copy.setId(id);
+		validateNoIntersections(copy);
+		tasks.put(id, copy);
+		addToPrioritized(copy);
+		publish(copy);
+		return id;
+	}
+
+	@Override
+	public int addNewEpic(Epic epic) {
+		if (epic == null) return -1;
+		validateStatus(epic);
+		int id = ++generatorId;
+		Epic copy = copyEpic(epic);
+		copy.setId(id);
+		epics.put(id, copy);
+		publish(copy);
+		return id;
+	}
+
+	@Override
+	public Integer addNewSubtask(Subtask subtask) {
+		if (subtask == null) return null;
+
+		int targetEpicId = subtask.getEpicId();
+		Epic targetEpic = epics.get(targetEpicId);
+		if (targetEpic == null) return null;
+		validateStatus(subtask);
+
+		int id = subtask.getId();
+
+		if (id <= 0 || !subtasks.containsKey(id)) {
+			id = ++generatorId;
+			Subtask copy = copySubtask(subtask);
+			copy.setId(id);
+
+			validateNoIntersections(copy);
+			subtasks.put(id, copy);
+			addToPrioritized(copy);
+			publish(copy);
+			relinkSubtask(null, copy);
+			return id;
+		}
+
+		Subtask prev = subtasks.get(id);
+		Subtask copy = copySubtask(subtask);
+		removeFromPrioritized(prev);
+		try {
+			validateNoIntersections(copy);
+		} catch (ManagerValidateException e) {
+			addToPrioritized(prev);
+			throw e;
+		}
+
+		subtasks.put(id, copy);
+		addToPrioritized(copy);
+		publish(copy);
+		relinkSubtask(prev, copy);
+
+		return id;
+	}
+
+	/**
+	 * Adds tasks, epics and subtasks as one batch. Time slots of the whole batch are validated before
+	 * anything is stored, every touched epic is recalculated once, and if {@link ManagerValidateException}
+	 * is thrown nothing is added. A subtask whose epic id names a stored epic joins that epic. Otherwise it
+	 * joins the nearest epic before it in the batch that was passed with the same id, so several new epics
+	 * may all keep the default id as long as each is followed by its own subtasks.
+	 *
+	 * @return ids assigned to the entities, in the order of {@code batch}
+	 */
+	@Override
+	public List<Integer> addAll(Collection<? extends Task> batch) {
+		List<Task> copies = new ArrayList<>(batch.size());
+		Map<Integer, Epic> batchEpics = new HashMap<>();
+		int nextId = generatorId;
+
+		for (Task task : batch) {
+			Objects.requireNonNull(task, "task");
+			int id = ++nextId;
+			Task copy = switch (task.getType()) {
+				case TASK -> {
+					validateStatus(task);
+					yield copyTask(task);
+				}
+				case EPIC -> {
+					Epic epic = new Epic(id, task.getName(), task.getDescription());
+					batchEpics.put(task.getId(), epic);
+					yield epic;
+				}
+				case SUBTASK -> {
+					Subtask subtask = (Subtask) task;
+					validateStatus(subtask);
+					int epicId = subtask.getEpicId();
+					if (!epics.containsKey(epicId)) {
+						Epic batchEpic = batchEpics.get(epicId);
+						if (batchEpic == null) {
+							throw new ManagerValidateException("Эпик подзадачи не найден: id=" + epicId);
+						}
+						epicId = batchEpic.getId();
+					}
+					Subtask linked = new Subtask(id, subtask.getName(), subtask.getDescription(),
+							subtask.getStatus(), epicId);
+					linked.setDuration(subtask.getDuration());
+					linked.setStartTime(subtask.getStartTime());
+					yield linked;
+				}
+			};
+			copy.setId(id);
+			copies.add(copy);
+		}
+
+		List<Task> marked = new ArrayList<>();
+		try {
+			for (Task copy : copies) {
+				if (copy.getType() == TaskType.EPIC) continue;
+				validateNoIntersections(copy);
+				timeSlots.add(copy);
+				marked.add(copy);
+			}
+		} catch (ManagerValidateException e) {
+			for (Task copy : marked) {
+				timeSlots.remove(copy);
+			}
+			throw e;
+		}
+
+		generatorId = nextId;
+		Set<Integer> touchedEpics = new LinkedHashSet<>();
+		List<Integer> ids = new ArrayList<>(copies.size());
+		for (Task copy : copies) {
+			int id = copy.getId();
+			switch (copy.getType()) {
+				case TASK -> {
+					tasks.put(id, copy);
+					publish(copy);
+				}
+				case EPIC -> {
+					epics.put(id, (Epic) copy);
+					touchedEpics.add(id);
+					publish(copy);
+				}
+				case SUBTASK -> {
+					Subtask subtask = (Subtask) copy;
+					subtasks.put(id, subtask);
+					epics.get(subtask.getEpicId()).addSubtaskId(id);
+					aggregateOf(subtask.getEpicId()).add(subtask);
+					touchedEpics.add(subtask.getEpicId());
+					publish(subtask);
+				}
+			}
+			if (copy.getStartTime() != null && copy.getType() != TaskType.EPIC) {
+				prioritizedTasks.add(copy);
+			}
+			ids.add(id);
+		}
+		for (int epicId : touchedEpics) {
+			updateEpicStatus(epicId);
+		}
+		return ids;
+	}
+
+	@Override
+	public void updateTask(Task task) {
+		if (task == null) return;
+
+		int id = task.getId();
+		Task old = tasks.get(id);
+		if (old == null) return;
+		validateStatus(task);
+
+		Task copy = copyTask(task);
+
+		validateNoIntersections(copy);
+
+		removeFromPrioritized(old);
+		tasks.put(id, copy);
+		addToPrioritized(copy);
+		publish(copy);
+	}
+
+
+	@Override
+	public void updateEpic(Epic epic) {
+		if (epic == null) return;
+		final int id = epic.getId();
+		Epic saved = epics.get(id);
+		if (saved == null) return;
+		saved.setName(epic.getName());
+		saved.setDescription(epic.getDescription());
+		publish(saved);
+	}
+
+	@Override
+	public void updateSubtask(Subtask subtask) {
+		if (subtask == null) return;
+
+		int id = subtask.getId();
+		Subtask old = subtasks.get(id);
+		if (old == null) return;
+
+		Epic epic = epics.get(subtask.getEpicId());
+		if (epic == null) return;
+		validateStatus(subtask);
+
+		Subtask copy = copySubtask(subtask);
+
+		validateNoIntersections(copy);
+
+		removeFromPrioritized(old);
+		subtasks.put(id, copy);
+		addToPrioritized(copy);
+
+		publish(copy);
+		relinkSubtask(old, copy);
+	}
+
+
+	@Override
+	public void deleteTask(int id) {
+		Task removed = tasks.remove(id);
+		if (removed == null) return;
+
+		removeFromPrioritized(removed);
+		unpublish(id);
+		historyManager.remove(id);
+	}
+
+	@Override
+	public void deleteEpic(int id) {
+		final Epic epic = epics.remove(id);
+		if (epic == null) return;
+		epicAggregates.remove(id);
+		epic.forEachSubtaskId(subtaskId -> {
+			Subtask removedSub = subtasks.remove(subtaskId);
+			removeFromPrioritized(removedSub);
+			unpublish(subtaskId);
+			historyManager.remove(subtaskId);
+		});
+		unpublish(id);
+		historyManager.remove(id);
+	}
+
+	@Override
+	public void deleteSubtask(int id) {
+		Subtask removed = subtasks.remove(id);
+		if (removed == null) return;
+
+		removeFromPrioritized(removed);
+		unpublish(id);
+		relinkSubtask(removed, null);
+		historyManager.remove(id);
+	}
+
+	@Override
+	public void deleteTasks() {
+		for (Task t : tasks.values()) {
+			removeFromPrioritized(t);
+			unpublish(t.getId());
+			historyManager.remove(t.getId());
+		}
+		tasks.clear();
+	}
+
+	@Override
+	public void deleteSubtasks() {
+		for (Subtask st : subtasks.values()) {
+			removeFromPrioritized(st);
+			unpublish(st.getId());
+			historyManager.remove(st.getId());
+		}
+		subtasks.clear();
+		epicAggregates.clear();
+		for (Epic epic : epics.values()) {
+			epic.clearSubtaskIds();
+			updateEpicStatus(epic.getId());
+		}
+	}
+
+	@Override
+	public void deleteEpics() {
+		for (Epic epic : epics.values()) {
+			epic.forEachSubtaskId(subtaskId -> {
+				removeFromPrioritized(subtasks.get(subtaskId));
+				unpublish(subtaskId);
+				historyManager.remove(subtaskId);
+			});
+			unpublish(epic.getId());
+			historyManager.remove(epic.getId());
+		}
+		epics.clear();
+		epicAggregates.clear();
+		subtasks.clear();
+	}
+
+	/**
+	 * Returns copies of the viewed entities in their current state. The history keeps ids only and they are
+	 * resolved here, so an update is visible in the history and old versions are never kept alive by it.
+	 */
+	@Override
+	public List<Task> getHistory() {
+		int[] ids = historyManager.getHistoryIds();
+		List<Task> result = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			TaskSnapshot snapshot = snapshots.get(id);
+			if (snapshot == null) continue;
+			result.add(snapshot.type() == TaskType.EPIC ? copyEpic(epics.get(id)) : snapshot.toTask());
+		}
+		return result;
+	}
+
+	@Override
+	public List<TaskSnapshot> getHistorySnapshots() {
+		int[] ids = historyManager.getHistoryIds();
+		List<TaskSnapshot> result = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			TaskSnapshot snapshot = snapshots.get(id);
+			if (snapshot != null) result.add(snapshot);
+		}
+		return result;
+	}
+
+	@Override
+	public Optional<TaskSnapshot> getSnapshot(int id) {
+		TaskSnapshot snapshot = snapshots.get(id);
+		if (snapshot == null) return Optional.empty();
+		historyManager.add(id);
+		return Optional.of(snapshot);
+	}
+
+	@Override
+	public List<TaskSnapshot> getSnapshots(TaskType type) {
+		EntityStore<? extends Task> store = storeOf(type);
+		List<TaskSnapshot> result = new ArrayList<>(store.size());
+		for (Task task : store.values()) {
+			result.add(snapshots.get(task.getId()));
+		}
+		return result;
+	}
+
+	@Override
+	public List<TaskSnapshot> getSnapshots(TaskType type, int afterId, int limit) {
+		return page(storeOf(type), afterId, limit, task -> task).stream()
+				.map(task -> snapshots.get(task.getId()))
+				.toList();
+	}
+
+	@Override
+	public Optional<TaskSnapshot> getSnapshot(String userId, int id) {
+		TaskSnapshot snapshot = snapshots.get(id);
+		if (snapshot == null) return Optional.empty();
+		userHistories.add(userId, id);
+		return Optional.of(snapshot);
+	}
+
+	@Override
+	public List<TaskSnapshot> getHistorySnapshots(String userId) {
+		int[] ids = userHistories.get(userId, snapshots::containsKey);
+		List<TaskSnapshot> result = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			result.add(snapshots.get(id));
+		}
+		return result;
+	}
+
+	@Override
+	public void clearHistory(String userId) {
+		userHistories.remove(userId);
+	}
+
+	@Override
+	public int count(TaskType type) {
+		return storeOf(type).size();
+	}
+
+	@Override
+	public int count(TaskType type, TaskStatus status) {
+		return statusIndex.count(type, status);
+	}
+
+	/**
+	 * Lists the entities of {@code type} with {@code status} from the status index, in the order they got
+	 * that status. The cost is proportional to the result, not to the board.
+	 */
+	@Override
+	public List<TaskSnapshot> getSnapshots(TaskType type, TaskStatus status) {
+		List<TaskSnapshot> result = new ArrayList<>(statusIndex.count(type, status));
+		statusIndex.forEach(type, status, id -> result.add(snapshots.get(id)));
+		return result;
+	}
+
+	@Override
+	public long getLastSequence() {
+		return changes.lastSequence();
+	}
+
+	@Override
+	public List<TaskEvent> getChanges(long afterSequence, int limit) {
+		return changes.since(afterSequence, limit);
+	}
+
+	@Override
+	public void addChangeListener(Consumer<? super TaskEvent> listener) {
+		changes.addListener(listener);
+	}
+
+	@Override
+	public void removeChangeListener(Consumer<? super TaskEvent> listener) {
+		changes.removeListener(listener);
+	}
+
+	/**
+	 * Finds entities whose name or description contains every word of {@code query}, each word matching the
+	 * beginning of a word of the text. Case and "ё" are ignored; matches in the name rank higher, the order
+	 * among equally relevant entities is unspecified.
+	 *
+	 * @return up to {@code limit} shared snapshots, most relevant first
+	 */
+	@Override
+	public List<TaskSnapshot> search(String query, int limit) {
+		Objects.requireNonNull(query, "query");
+		if (limit < 0) {
+			throw new IllegalArgumentException("limit must not be negative: " + limit);
+		}
+		int[] ids = textIndex.search(query, limit);
+		List<TaskSnapshot> result = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			result.add(snapshots.get(id));
+		}
+		return result;
+	}
+
+	private EntityStore<? extends Task> storeOf(TaskType type) {
+		return switch (type) {
+			case TASK -> tasks;
+			case EPIC -> epics;
+			case SUBTASK -> subtasks;
+		};
+	}
+
+	/**
+	 * Replaces the shared snapshot of a stored entity, updates the status and text indexes and records the
+	 * change in the feed. Called after every change of the entity, so reads never build snapshots and never copy.
+	 */
+	private void publish(Task stored) {
+		TaskSnapshot current = TaskSnapshot.of(stored);
+		TaskSnapshot previous = snapshots.put(stored.getId(), current);
+		statusIndex.move(previous, current);
+		textIndex.move(previous, current);
+		changes.record(previous, current);
+	}
+
+	private void unpublish(int id) {
+		TaskSnapshot previous = snapshots.remove(id);
+		if (previous != null) {
+			statusIndex.move(previous, null);
+			textIndex.move(previous, null);
+			changes.record(previous, null);
+		}
+	}
+
+	private EpicAggregate aggregateOf(int epicId) {
+		return epicAggregates.computeIfAbsent(epicId, key -> new EpicAggregate());
+	}
+
+	/**
+	 * Moves a subtask from its {@code previous} version to its {@code current} one, either of which may be
+	 * {@code null}: keeps epic subtask lists and aggregates in sync and refreshes the affected epics.
+	 */
+	private void relinkSubtask(Subtask previous, Subtask current) {
+		if (previous != null) {
+			int prevEpicId = previous.getEpicId();
+			Epic prevEpic = epics.get(prevEpicId);
+			if (prevEpic != null) {
+				aggregateOf(prevEpicId).remove(previous);
+				if (current == null || current.getEpicId() != prevEpicId) {
+					prevEpic.removeSubtaskId(previous.getId());
+					updateEpicStatus(prevEpicId);
+				}
+			}
+		}
+		if (current != null) {
+			Epic epic = epics.get(current.getEpicId());
+			if (epic == null) return;
+			epic.addSubtaskId(current.getId());
+			aggregateOf(current.getEpicId()).add(current);
+			updateEpicStatus(current.getEpicId());
+		}
+	}
+
+	/**
+	 * Copies the running aggregates of the epic into its status and calculated time fields.
+	 */
+	private void updateEpicStatus(int epicId) {
+		Epic epic = epics.get(epicId);
+		if (epic == null) return;
+
+		EpicAggregate aggregate = epicAggregates.get(epicId);
+		if (aggregate == null || aggregate.isEmpty()) {
+			epic.setStatus(TaskStatus.NEW);
+			epic.setCalculatedFields(Duration.ZERO, null, null);
+		} else {
+			epic.setStatus(aggregate.status());
+			epic.setCalculatedFields(aggregate.totalDuration(), aggregate.earliestStart(), aggregate.latestEnd());
+		}
+		publish(epic);
+	}
+
+
+	@Override
+	public List<Task> getPrioritizedTasks() {
+		List<Task> result = new ArrayList<>(prioritizedTasks.size());
+		for (Task task : prioritizedTasks) {
+			result.add(copyScheduled(task));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns read-only copies of the prioritized tasks starting in {@code [from, to)}. Only the window of the
+	 * index is walked, so the cost depends on the window, not on the whole schedule.
+	 */
+	@Override
+	public NavigableSet<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+		Objects.requireNonNull(from, "from");
+		Objects.requireNonNull(to, "to");
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("empty window: [" + from + ", " + to + ")");
+		}
+		NavigableSet<Task> window = new TreeSet<>(prioritizedTasks.comparator());
+		for (Task task : prioritizedTasks.subSet(boundary(from), true, boundary(to), false)) {
+			window.add(copyScheduled(task));
+		}
+		return Collections.unmodifiableNavigableSet(window);
+	}
+
+	/**
+	 * Returns copies of up to {@code limit} prioritized tasks following {@code after} in priority order, or from
+	 * the beginning if {@code after} is {@code null}. Pass the last task of a page to get the next one.
+	 */
+	@Override
+	public List<Task> getPrioritizedTasksAfter(Task after, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("limit must not be negative: " + limit);
+		}
+		NavigableSet<Task> tail = after == null || after.getStartTime() == null
+				? prioritizedTasks
+				: prioritizedTasks.tailSet(after, false);
+		List<Task> page = new ArrayList<>(Math.min(limit, 64));
+		for (Task task : tail) {
+			if (page.size() == limit) break;
+			page.add(copyScheduled(task));
+		}
+		return page;
+	}
+
+	/**
+	 * Probe sorting before every task starting at {@code time}.
+	 */
+	private static Task boundary(LocalDateTime time) {
+		Task probe = new Task(Integer.MIN_VALUE, null, null, TaskStatus.NEW);
+		probe.setStartTime(time);
+		return probe;
+	}
+
+	/**
+	 * Returns the stored entity without copying it and without touching the history.
+	 * Intended for persistence subclasses that only need to serialize the current state.
+	 */
+	protected Task getStoredEntity(int id) {
+		Task task = tasks.get(id);
+		if (task != null) return task;
+		Epic epic = epics.get(id);
+		if (epic != null) return epic;
+		return subtasks.get(id);
+	}
+
+	/**
+	 * Iterates stored tasks, then epics, then subtasks without copying them. The order guarantees
+	 * that an epic is always met before its subtasks, which is what persistence formats rely on.
+	 */
+	protected Iterable<Task> storedEntities() {
+		return () -> java.util.stream.Stream.<Collection<? extends Task>>of(tasks.values(), epics.values(), subtasks.values())
+				.<Task>flatMap(Collection::stream)
+				.iterator();
+	}
+
+	/**
+	 * Puts an entity straight into its store keeping the stored id. Prioritized tasks, time slots
+	 * and epic links are not touched: call {@link #rebuildIndexes()} once all entities are restored.
+	 */
+	protected void restoreEntity(Task task) {
+		if (task == null) return;
+		int id = task.getId();
+		generatorId = Math.max(generatorId, id);
+
+		Task copy = switch (task.getType()) {
+			case TASK -> copyTask(task);
+			case EPIC -> new Epic(id, task.getName(), task.getDescription());
+			case SUBTASK -> copySubtask((Subtask) task);
+		};
+		switch (copy.getType()) {
+			case TASK -> tasks.put(id, copy);
+			case EPIC -> epics.put(id, (Epic) copy);
+			case SUBTASK -> subtasks.put(id, (Subtask) copy);
+		}
+		publish(copy);
+	}
+
+	/**
+	 * Rebuilds prioritized tasks, occupied time slots, epic subtask links and epic aggregates
+	 * from the stores in a single pass. Subtasks whose epic is missing are dropped.
+	 */
+	protected void rebuildIndexes() {
+		prioritizedTasks.clear();
+		timeSlots.clear();
+
+		for (Task task : tasks.values()) {
+			addToPrioritized(task);
+		}
+		epicAggregates.clear();
+		for (Epic epic : epics.values()) {
+			epic.clearSubtaskIds();
+		}
+		List<Integer> orphans = new ArrayList<>();
+		for (Subtask subtask : subtasks.values()) {
+			Epic epic = epics.get(subtask.getEpicId());
+			if (epic == null) {
+				orphans.add(subtask.getId());
+				continue;
+			}
+			epic.addSubtaskId(subtask.getId());
+			aggregateOf(epic.getId()).add(subtask);
+			addToPrioritized(subtask);
+		}
+		for (int orphan : orphans) {
+			subtasks.remove(orphan);
+			unpublish(orphan);
+		}
+		for (Epic epic : epics.values()) {
+			updateEpicStatus(epic.getId());
+		}
+	}
+
+	/**
+	 * Inserts or replaces an entity keeping its stored id. Used when replaying persisted state,
+	 * so no intersection validation is performed.
+	 */
+	protected void upsertRestored(Task task) {
+		if (task == null) return;
+		int id = task.getId();
+		generatorId = Math.max(generatorId, id);
+
+		switch (task.getType()) {
+			case TASK -> {
+				removeFromPrioritized(tasks.get(id));
+				Task copy = copyTask(task);
+				tasks.put(id, copy);
+				addToPrioritized(copy);
+				publish(copy);
+			}
+			case EPIC -> {
+				Epic saved = epics.get(id);
+				if (saved != null) {
+					saved.setName(task.getName());
+					saved.setDescription(task.getDescription());
+					publish(saved);
+					return;
+				}
+				Epic copy = new Epic(id, task.getName(), task.getDescription());
+				epics.put(id, copy);
+				updateEpicStatus(id);
+			}
+			case SUBTASK -> {
+				Subtask subtask = (Subtask) task;
+				Epic epic = epics.get(subtask.getEpicId());
+				if (epic == null) return;
+
+				Subtask prev = subtasks.get(id);
+				removeFromPrioritized(prev);
+				Subtask copy = copySubtask(subtask);
+				subtasks.put(id, copy);
+				addToPrioritized(copy);
+				publish(copy);
+				relinkSubtask(prev, copy);
+			}
+		}
+	}
+
+	/**
+	 * Returns the scheduled tasks and subtasks whose time overlaps {@code candidate}, with the overlapping spans.
+	 * A stored entity with the candidate's id is not reported, so an update may be checked before it is applied.
+	 */
+	@Override
+	public List<TimeConflict> findConflicts(Task candidate) {
+		if (candidate == null) return List.of();
+		return timeSlots.conflicts(candidate);
+	}
+
+	/**
+	 * Returns the earliest gap of at least {@code duration} between scheduled tasks and subtasks within
+	 * {@code [from, to)}. The returned slot is the whole gap; a task of {@code duration} fits at its start.
+	 */
+	@Override
+	public Optional<TimeSlot> findFreeSlot(Duration duration, LocalDateTime from, LocalDateTime to) {
+		validateWindow(duration, from, to);
+		List<TimeSlot> gaps = timeSlots.freeSlots(duration, from, to, 1);
+		return gaps.isEmpty() ? Optional.empty() : Optional.of(gaps.getFirst());
+	}
+
+	/**
+	 * Returns every gap of at least {@code duration} within {@code [from, to)}, earliest first.
+	 */
+	@Override
+	public List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to) {
+		validateWindow(duration, from, to);
+		return timeSlots.freeSlots(duration, from, to, Integer.MAX_VALUE);
+	}
+
+	private static void validateWindow(Duration duration, LocalDateTime from, LocalDateTime to) {
+		Objects.requireNonNull(duration, "duration");
+		Objects.requireNonNull(from, "from");
+		Objects.requireNonNull(to, "to");
+		if (duration.isNegative() || duration.isZero()) {
+			throw new IllegalArgumentException("duration must be positive: " + duration);
+		}
+		if (!to.isAfter(from)) {
+			throw new IllegalArgumentException("empty window: [" + from + ", " + to + ")");
+		}
+	}
+
+	/**
+	 * Rejects an entity without a status before anything is stored: the indexes and epic aggregates are
+	 * keyed by status and cannot hold it.
+	 */
+	private static void validateStatus(Task candidate) {
+		if (candidate.getStatus() == null) {
+			throw new ManagerValidateException("Не задан статус: id=" + candidate.getId());
+		}
+	}
+
+	private void validateNoIntersections(Task candidate) {
+		if (!timeSlots.isFree(candidate)) {
+			throw new TaskIntersectionException(candidate.getId(), timeSlots.conflicts(candidate));
+		}
+	}
+}
+
+
@@ -0,0 +1,237 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.exceptions.ManagerSaveException;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File-backed task manager that appends every mutation to a journal instead of rewriting the snapshot.
+ * <p>
+ * Journal records are single lines next to the snapshot file ({@code <snapshot>.journal}):
+ * {@code U,<csv row>} for a created or changed entity, {@code D,<id>} for a deletion and
+ * {@code C,<type>} for a bulk deletion. A batch added with {@link #addAll} is written as {@code B,<count>}
+ * followed by its upsert records and is replayed only if all of them made it to disk. Once
+ * {@code compactionThreshold} records have been appended the snapshot is rewritten and the journal
+ * is truncated. Every record is idempotent, so replaying a journal on top of a newer snapshot
+ * (crash between the two steps of compaction) is safe.
+ */
+public class JournaledTaskManager extends FileBackedTaskManager {
+
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+    private static final String UPSERT = "U";
+    private static final String DELETE = "D";
+    private static final String CLEAR = "C";
+    private static final String BATCH = "B";
+
+    private final File journalFile;
+    private final int compactionThreshold;
+    private int journalRecords;
+    private boolean replaying;
+
+    public JournaledTaskManager(File storageFile) {
+        this(storageFile, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public JournaledTaskManager(File storageFile, int compactionThreshold) {
+        super(storageFile);
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("compactionThreshold must be positive: " + compactionThreshold);
+        }
+        this.journalFile = journalFileFor(storageFile);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public static File journalFileFor(File storageFile) {
+        return new File(storageFile.getPath() + ".journal");
+    }
+
+    public static JournaledTaskManager loadFromFile(File storageFile) {
+        return loadFromFile(storageFile, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public static JournaledTaskManager loadFromFile(File storageFile, int compactionThreshold) {
+        JournaledTaskManager manager = new JournaledTaskManager(storageFile, compactionThreshold);
+        manager.replaying = true;
+        try {
+            manager.restoreFrom(storageFile);
+            manager.replayJournal();
+        } finally {
+            manager.replaying = false;
+        }
+        return manager;
+    }
+
+    /**
+     * Rewrites the snapshot with the current state and truncates the journal.
+     */
+    public void compact() {
+        save();
+        try {
+            Files.deleteIfExists(journalFile.toPath());
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка очистки журнала: " + journalFile, e);
+        }
+        journalRecords = 0;
+    }
+
+    public File getJournalFile() {
+        return journalFile;
+    }
+
+    @Override
+    protected void onEntitySaved(int id) {
+        Task stored = getStoredEntity(id);
+        if (stored != null) {
+            append(UPSERT + "," + taskToString(stored));
+        }
+    }
+
+    @Override
+    protected void onEntitiesAdded(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        StringBuilder records = new StringBuilder(BATCH).append(",").append(ids.size());
+        for (int id : ids) {
+            records.append(System.lineSeparator()).append(UPSERT).append(",").append(taskToString(getStoredEntity(id)));
+        }
+        append(records.toString(), ids.size());
+    }
+
+    @Override
+    protected void onEntityDeleted(int id) {
+        append(DELETE + "," + id);
+    }
+
+    @Override
+    protected void onEntitiesCleared(TaskType type) {
+        append(CLEAR + "," + type);
+    }
+
+    private void append(String record) {
+        append(record, 1);
+    }
+
+    private void append(String records, int count) {
+        if (replaying) {
+            return;
+        }
+        try {
+            Files.writeString(journalFile.toPath(), records + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка записи в журнал: " + journalFile, e);
+        }
+        journalRecords += count;
+        if (journalRecords >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    private void replayJournal() {
+        if (!journalFile.exists()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                if (line.startsWith(BATCH + ",")) {
+                    line = replayBatch(line, reader);
+                    continue;
+                }
+                String next = reader.readLine();
+                try {
+                    applyRecord(line.trim());
+                } catch (RuntimeException e) {
+                    // последняя запись могла быть записана не полностью при аварийном завершении
+                    if (next != null) {
+                        throw new ManagerSaveException("Повреждённая запись журнала: " + line, e);
+                    }
+                }
+                journalRecords++;
+                line = next;
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка чтения журнала: " + journalFile, e);
+        }
+    }
+
+    /**
+     * Replays a batch whose header is {@code header} and returns the line following it. A batch cut short
+     * by a crash is the tail of the journal and is skipped as a whole.
+     */
+    private String replayBatch(String header, BufferedReader reader) throws IOException {
+        int size = Integer.parseInt(header.substring(BATCH.length() + 1).trim());
+        List<String> records = new ArrayList<>(size);
+        String line = reader.readLine();
+        while (records.size() < size && line != null) {
+            records.add(line.trim());
+            line = reader.readLine();
+        }
+        if (records.size() < size) {
+            return null;
+        }
+
+        List<Task> batch = new ArrayList<>(size);
+        try {
+            for (String record : records) {
+                if (!record.startsWith(UPSERT + ",")) {
+                    throw new IllegalArgumentException("Unexpected batch record: " + record);
+                }
+                batch.add(taskFromString(record.substring(UPSERT.length() + 1)));
+            }
+        } catch (RuntimeException e) {
+            if (line == null) {
+                return null;
+            }
+            throw new ManagerSaveException("Повреждённая запись журнала: " + header, e);
+        }
+        for (Task task : batch) {
+            upsertRestored(task);
+        }
+        journalRecords += size;
+        return line;
+    }
+
+    private void applyRecord(String record) {
+        if (record.isEmpty()) {
+            return;
+        }
+        int separator = record.indexOf(',');
+        String kind = record.substring(0, separator);
+        String payload = record.substring(separator + 1);
+        switch (kind) {
+            case UPSERT -> upsertRestored(taskFromString(payload));
+            case DELETE -> {
+                int id = Integer.parseInt(payload);
+                Task stored = getStoredEntity(id);
+                if (stored == null) {
+                    return;
+                }
+                switch (stored.getType()) {
+                    case TASK -> deleteTask(id);
+                    case EPIC -> deleteEpic(id);
+                    case SUBTASK -> deleteSubtask(id);
+                }
+            }
+            case CLEAR -> {
+                switch (TaskType.valueOf(payload)) {
+                    case TASK -> deleteTasks();
+                    case EPIC -> deleteEpics();
+                    case SUBTASK -> deleteSubtasks();
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown journal record: " + record);
+        }
+    }
+}
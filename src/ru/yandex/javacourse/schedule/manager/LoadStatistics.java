@@ -0,0 +1,17 @@
+package ru.yandex.javacourse.schedule.manager;
+
+/**
+ * Statistics of a snapshot load.
+ *
+ * @param rows         number of restored entities
+ * @param bytes        number of bytes read from disk
+ * @param elapsedNanos time spent reading and parsing
+ */
+public record LoadStatistics(long rows, long bytes, long elapsedNanos) {
+
+    public static final LoadStatistics EMPTY = new LoadStatistics(0, 0, 0);
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -1,16 +1,70 @@
-package ru.yandex.javacourse.schedule.manager;
-
-/**
- * Default managers.
- *
- * @author Vladimir Ivanov (ivanov.vladimir.l@gmail.com)
- */
-public class Managers {
-	public static TaskManager getDefault() {
-		return new InMemoryTaskManager();
-	}
-
-	public static HistoryManager getDefaultHistory() {
-		return new InMemoryHistoryManager();
-	}
-}
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Default managers.
+ *
+ * @author Vladimir Ivanov (ivanov.vladimir.l@gmail.com)
+ */
+public class Managers {
+	public static TaskManager getDefault() {
+		return new InMemoryTaskManager();
+	}
+
+	/**
+	 * Task manager recording views in {@code history}, e.g. a bounded one from {@link #getDefaultHistory(int)}.
+	 */
+	public static TaskManager getDefault(HistoryManager history) {
+		return new InMemoryTaskManager(Objects.requireNonNull(history, "history"));
+	}
+
+	/**
+	 * Task manager that may be shared between threads.
+	 */
+	public static TaskManager getConcurrent() {
+		return new ConcurrentTaskManager();
+	}
+
+	/**
+	 * Task manager that may be shared between threads, recording views in {@code history}. Readers record views
+	 * concurrently, so the history has to be thread-safe, e.g. one from {@link #getConcurrentHistory(int, Duration)}.
+	 */
+	public static TaskManager getConcurrent(HistoryManager history) {
+		return new ConcurrentTaskManager(Objects.requireNonNull(history, "history"));
+	}
+
+	public static HistoryManager getDefaultHistory() {
+		return new InMemoryHistoryManager();
+	}
+
+	/**
+	 * History that keeps at most {@code maxSize} entries, evicting the least recently viewed one.
+	 */
+	public static HistoryManager getDefaultHistory(int maxSize) {
+		return new InMemoryHistoryManager(maxSize);
+	}
+
+	/**
+	 * History that keeps at most {@code maxSize} entries, each for no longer than {@code maxAge} after its last view.
+	 */
+	public static HistoryManager getDefaultHistory(int maxSize, Duration maxAge) {
+		return new InMemoryHistoryManager(maxSize, maxAge);
+	}
+
+	/**
+	 * History manager that may be updated from many threads.
+	 */
+	public static HistoryManager getConcurrentHistory() {
+		return new ConcurrentHistoryManager();
+	}
+
+	/**
+	 * Thread-safe history that keeps at most {@code maxSize} entries, each for no longer than {@code maxAge}
+	 * after its last view.
+	 */
+	public static HistoryManager getConcurrentHistory(int maxSize, Duration maxAge) {
+		return new ConcurrentHistoryManager(maxSize, maxAge);
+	}
+}
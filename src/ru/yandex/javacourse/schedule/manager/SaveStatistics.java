@@ -0,0 +1,11 @@
+package ru.yandex.javacourse.schedule.manager;
+
+/**
+ * Statistics of snapshot writes.
+ *
+ * @param requests  number of mutations that asked for the state to be persisted
+ * @param writes    number of snapshots actually written to disk
+ * @param coalesced number of persisted requests that did not need a write of their own
+ */
+public record SaveStatistics(long requests, long writes, long coalesced) {
+}
@@ -0,0 +1,35 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * On-disk format of a {@link FileBackedTaskManager} snapshot.
+ */
+public enum SnapshotFormat {
+    /**
+     * Human-readable CSV with a header line.
+     */
+    CSV,
+    /**
+     * Compact binary format, see {@link BinarySnapshotWriter}.
+     */
+    BINARY;
+
+    /**
+     * Detects the format of an existing snapshot by its header. Empty or missing files are treated as CSV.
+     */
+    public static SnapshotFormat detect(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return CSV;
+        }
+        byte[] magic = BinarySnapshotWriter.MAGIC;
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] head = in.readNBytes(magic.length);
+            return Arrays.equals(head, magic) ? BINARY : CSV;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential reader of a persisted snapshot.
+ */
+public interface SnapshotReader extends Closeable {
+
+    /**
+     * Returns the next entity or {@code null} when the snapshot is exhausted.
+     */
+    Task next() throws IOException;
+
+    LoadStatistics statistics();
+}
@@ -0,0 +1,57 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.function.IntConsumer;
+
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+import ru.yandex.javacourse.schedule.util.IntOrderedSet;
+
+/**
+ * Ids of stored entities grouped by type and status.
+ * <p>
+ * Each of the type and status pairs has its own {@link IntOrderedSet}, so moving an entity between groups,
+ * counting a group and listing it are proportional to the group, not to the board. Within a group ids
+ * follow the order in which entities entered it.
+ */
+final class StatusIndex {
+
+	private static final int STATUSES = TaskStatus.values().length;
+
+	private final IntOrderedSet[] groups = new IntOrderedSet[TaskType.values().length * STATUSES];
+
+	StatusIndex() {
+		for (int i = 0; i < groups.length; i++) {
+			groups[i] = new IntOrderedSet();
+		}
+	}
+
+	/**
+	 * Moves the entity from the group of {@code previous} to the group of {@code current}; either may be
+	 * {@code null} for an added or a removed entity.
+	 */
+	void move(TaskSnapshot previous, TaskSnapshot current) {
+		if (previous != null && current != null
+				&& previous.type() == current.type() && previous.status() == current.status()) {
+			return;
+		}
+		if (previous != null) {
+			group(previous.type(), previous.status()).remove(previous.id());
+		}
+		if (current != null) {
+			group(current.type(), current.status()).add(current.id());
+		}
+	}
+
+	int count(TaskType type, TaskStatus status) {
+		return group(type, status).size();
+	}
+
+	void forEach(TaskType type, TaskStatus status, IntConsumer action) {
+		group(type, status).forEach(action);
+	}
+
+	private IntOrderedSet group(TaskType type, TaskStatus status) {
+		return groups[type.ordinal() * STATUSES + status.ordinal()];
+	}
+}
@@ -0,0 +1,56 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+/**
+ * A change of one task, epic or subtask. {@code snapshot} is the state after the change, or the last state
+ * for a deleted entity, so a consumer never has to read the manager back; {@code changed} names the fields
+ * an update changed. Sequence numbers of a manager start at one and grow by one per event.
+ */
+public record TaskEvent(long sequence, Kind kind, TaskSnapshot snapshot, Set<Field> changed) {
+
+	public enum Kind {
+		CREATED,
+		UPDATED,
+		DELETED
+	}
+
+	public enum Field {
+		NAME,
+		DESCRIPTION,
+		STATUS,
+		DURATION,
+		START_TIME,
+		END_TIME,
+		EPIC_ID
+	}
+
+	/**
+	 * {@code changed} is empty for a created or a deleted entity.
+	 */
+	public TaskEvent {
+		Objects.requireNonNull(kind, "kind");
+		Objects.requireNonNull(snapshot, "snapshot");
+		changed = Collections.unmodifiableSet(
+				changed.isEmpty() ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(changed));
+	}
+
+	public int id() {
+		return snapshot.id();
+	}
+
+	public TaskType type() {
+		return snapshot.type();
+	}
+
+	@Override
+	public String toString() {
+		return "#" + sequence + " " + kind + " " + type() + " id=" + id() + (changed.isEmpty() ? "" : " " + changed);
+	}
+}
@@ -1,57 +1,171 @@
-package ru.yandex.javacourse.schedule.manager;
-
-import java.util.List;
-import java.util.Optional;
-
-import ru.yandex.javacourse.schedule.tasks.Epic;
-import ru.yandex.javacourse.schedule.tasks.Subtask;
-import ru.yandex.javacourse.schedule.tasks.Task;
-
-/**
- * Task manager.
- *
- * @author Vladimir Ivanov (ivanov.vladimir.l@gmail.com)
- */
-public interface TaskManager {
-	List<Task> getTasks();
-
-	List<Subtask> getSubtasks();
-
-	List<Epic> getEpics();
-
-	List<Subtask> getEpicSubtasks(int epicId);
-
-	Optional<Task> getTask(int id);
-
-	Optional<Subtask> getSubtask(int id);
-
-	Optional<Epic> getEpic(int id);
-
-	int addNewTask(Task task);
-
-	int addNewEpic(Epic epic);
-
-	Integer addNewSubtask(Subtask subtask);
-
-	void updateTask(Task task);
-
-	void updateEpic(Epic epic);
-
-	void updateSubtask(Subtask subtask);
-
-	void deleteTask(int id);
-
-	void deleteEpic(int id);
-
-	void deleteSubtask(int id);
-
-	void deleteTasks();
-
-	void deleteSubtasks();
-
-	void deleteEpics();
-
-	List<Task> getHistory();
-
-	List<Task> getPrioritizedTasks();
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+/**
+ * Task manager.
+ *
+ * @author Vladimir Ivanov (ivanov.vladimir.l@gmail.com)
+ */
+public interface TaskManager {
+	/**
+	 * Returns copies of all tasks in ascending id order.
+	 */
+	List<Task> getTasks();
+
+	List<Subtask> getSubtasks();
+
+	List<Epic> getEpics();
+
+	List<Subtask> getEpicSubtasks(int epicId);
+
+	/**
+	 * Returns copies of up to {@code limit} tasks with ids greater than {@code afterId}, in ascending id order.
+	 * Pass {@code 0} for the first page and the id of the last task of a page for the next one.
+	 */
+	List<Task> getTasks(int afterId, int limit);
+
+	List<Subtask> getSubtasks(int afterId, int limit);
+
+	List<Epic> getEpics(int afterId, int limit);
+
+	/**
+	 * Streams copies of all tasks in ascending id order, fetching them page by page as the stream is consumed,
+	 * so memory does not depend on the size of the board. Changes made meanwhile may or may not be seen.
+	 */
+	Stream<Task> streamTasks();
+
+	Stream<Subtask> streamSubtasks();
+
+	Stream<Epic> streamEpics();
+
+	Optional<Task> getTask(int id);
+
+	Optional<Subtask> getSubtask(int id);
+
+	Optional<Epic> getEpic(int id);
+
+	/**
+	 * Returns the current snapshot of a task, epic or subtask and records the view in the history, like
+	 * {@link #getTask(int)}. Snapshots are immutable and shared between readers, nothing is copied.
+	 */
+	Optional<TaskSnapshot> getSnapshot(int id);
+
+	/**
+	 * Returns shared snapshots of every entity of {@code type} in ascending id order, without touching the history.
+	 */
+	List<TaskSnapshot> getSnapshots(TaskType type);
+
+	/**
+	 * Returns shared snapshots of up to {@code limit} entities of {@code type} with ids greater than
+	 * {@code afterId}, in ascending id order, without touching the history. Ids only grow, so a client can sync
+	 * incrementally by passing the last id it has seen.
+	 */
+	List<TaskSnapshot> getSnapshots(TaskType type, int afterId, int limit);
+
+	/**
+	 * Returns shared snapshots of the entities of {@code type} with {@code status}, without touching the history.
+	 */
+	List<TaskSnapshot> getSnapshots(TaskType type, TaskStatus status);
+
+	int count(TaskType type);
+
+	int count(TaskType type, TaskStatus status);
+
+	/**
+	 * Full-text search over names and descriptions; see {@link InMemoryTaskManager#search(String, int)}.
+	 */
+	List<TaskSnapshot> search(String query, int limit);
+
+	int addNewTask(Task task);
+
+	int addNewEpic(Epic epic);
+
+	Integer addNewSubtask(Subtask subtask);
+
+	List<Integer> addAll(Collection<? extends Task> batch);
+
+	void updateTask(Task task);
+
+	void updateEpic(Epic epic);
+
+	void updateSubtask(Subtask subtask);
+
+	void deleteTask(int id);
+
+	void deleteEpic(int id);
+
+	void deleteSubtask(int id);
+
+	void deleteTasks();
+
+	void deleteSubtasks();
+
+	void deleteEpics();
+
+	List<Task> getHistory();
+
+	List<TaskSnapshot> getHistorySnapshots();
+
+	/**
+	 * Returns the current snapshot like {@link #getSnapshot(int)}, but records the view in the history of
+	 * {@code userId} only.
+	 */
+	Optional<TaskSnapshot> getSnapshot(String userId, int id);
+
+	/**
+	 * Returns the entities {@code userId} viewed most recently, oldest first. The list is short and bounded;
+	 * deleted entities are not listed.
+	 */
+	List<TaskSnapshot> getHistorySnapshots(String userId);
+
+	void clearHistory(String userId);
+
+	/**
+	 * Returns the sequence number of the latest change, {@code 0} before the first one. Read it together with
+	 * the board to know where to start polling {@link #getChanges(long, int)}.
+	 */
+	long getLastSequence();
+
+	/**
+	 * Returns up to {@code limit} changes numbered after {@code afterSequence}, oldest first. Only the latest
+	 * changes are kept: if the first returned event is numbered beyond {@code afterSequence + 1}, some were
+	 * dropped and the consumer has to reload the board.
+	 */
+	List<TaskEvent> getChanges(long afterSequence, int limit);
+
+	/**
+	 * Registers a listener called with every change right after it is applied, on the thread making it and
+	 * while that thread still holds the manager's locks. A listener should be quick. An exception it throws
+	 * goes to the thread's uncaught exception handler and does not interrupt the change or other listeners.
+	 */
+	void addChangeListener(Consumer<? super TaskEvent> listener);
+
+	void removeChangeListener(Consumer<? super TaskEvent> listener);
+
+	List<Task> getPrioritizedTasks();
+
+	NavigableSet<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+	List<Task> getPrioritizedTasksAfter(Task after, int limit);
+
+	List<TimeConflict> findConflicts(Task candidate);
+
+	Optional<TimeSlot> findFreeSlot(Duration duration, LocalDateTime from, LocalDateTime to);
+
+	List<TimeSlot> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
@@ -0,0 +1,272 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.util.IntObjectHashMap;
+import ru.yandex.javacourse.schedule.util.IntOrderedSet;
+
+/**
+ * Inverted index over the names and descriptions of stored entities.
+ * <p>
+ * Text is split into runs of letters and digits of any script, lower-cased and with "ё" folded into "е".
+ * Terms are kept in a sorted map, so every query word matches as a prefix through one range of that map.
+ * A term occurring in the name weighs {@value #NAME_WEIGHT} per occurrence, in the description one, up to
+ * {@value #MAX_WEIGHT}; an entity scores the sum over query words of the best weight among its terms
+ * starting with that word.
+ * <p>
+ * The ids of a term are bucketed by weight, so a one-word query reads the best buckets first and stops
+ * after {@code limit} hits. A query of several words scores every candidate of its rarest word, checking
+ * the other words against the sorted terms each entity keeps for that purpose.
+ */
+final class TextIndex {
+
+	static final int NAME_WEIGHT = 3;
+	static final int MAX_WEIGHT = 15;
+
+	/**
+	 * Ids containing one term, bucketed by the weight of the term in them.
+	 */
+	private static final class Postings {
+		private final IntOrderedSet[] byWeight = new IntOrderedSet[MAX_WEIGHT + 1];
+		private int size;
+
+		void add(int id, int weight) {
+			if (byWeight[weight] == null) {
+				byWeight[weight] = new IntOrderedSet();
+			}
+			byWeight[weight].add(id);
+			size++;
+		}
+
+		void remove(int id, int weight) {
+			byWeight[weight].remove(id);
+			if (byWeight[weight].isEmpty()) {
+				byWeight[weight] = null;
+			}
+			size--;
+		}
+
+		void forEach(IntConsumer action) {
+			for (IntOrderedSet ids : byWeight) {
+				if (ids != null) {
+					ids.forEach(action);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sorted distinct terms of one entity with their weights.
+	 */
+	private record Terms(String[] words, int[] weights) {
+
+		int bestWeight(String prefix) {
+			int best = 0;
+			int i = Arrays.binarySearch(words, prefix);
+			for (i = i < 0 ? -i - 1 : i; i < words.length && words[i].startsWith(prefix); i++) {
+				best = Math.max(best, weights[i]);
+			}
+			return best;
+		}
+	}
+
+	private record Hit(int id, int score) {
+	}
+
+	private final TreeMap<String, Postings> postings = new TreeMap<>();
+	private final IntObjectHashMap<Terms> terms = new IntObjectHashMap<>();
+
+	/**
+	 * Reindexes an entity whose text changed from {@code previous} to {@code current}; either may be
+	 * {@code null} for an added or a removed entity.
+	 */
+	void move(TaskSnapshot previous, TaskSnapshot current) {
+		if (previous != null && current != null
+				&& Objects.equals(previous.name(), current.name())
+				&& Objects.equals(previous.description(), current.description())) {
+			return;
+		}
+		if (previous != null) {
+			Terms old = terms.remove(previous.id());
+			if (old != null) {
+				for (int i = 0; i < old.words().length; i++) {
+					Postings ids = postings.get(old.words()[i]);
+					ids.remove(previous.id(), old.weights()[i]);
+					if (ids.size == 0) {
+						postings.remove(old.words()[i]);
+					}
+				}
+			}
+		}
+		if (current != null) {
+			Terms added = addTerms(current);
+			if (added.words().length > 0) {
+				terms.put(current.id(), added);
+			}
+		}
+	}
+
+	/**
+	 * Returns up to {@code limit} ids of entities containing every word of {@code query} as a prefix of one of
+	 * their terms, best score first. The order among equal scores is unspecified.
+	 */
+	int[] search(String query, int limit) {
+		List<String> words = tokenize(query);
+		if (words.isEmpty() || limit <= 0) {
+			return new int[0];
+		}
+		if (words.size() == 1) {
+			return searchWord(words.getFirst(), limit);
+		}
+		Collection<Postings> rarest = null;
+		int rarestSize = Integer.MAX_VALUE;
+		for (String word : words) {
+			Collection<Postings> candidates = withPrefix(word).values();
+			int size = 0;
+			for (Postings ids : candidates) {
+				size += ids.size;
+			}
+			if (size < rarestSize) {
+				rarest = candidates;
+				rarestSize = size;
+			}
+		}
+		if (rarestSize == 0) {
+			return new int[0];
+		}
+
+		PriorityQueue<Hit> best = new PriorityQueue<>((a, b) -> Integer.compare(a.score(), b.score()));
+		IntOrderedSet seen = rarest.size() > 1 ? new IntOrderedSet() : null;
+		for (Postings ids : rarest) {
+			ids.forEach(id -> {
+				if (seen != null && !seen.add(id)) {
+					return;
+				}
+				Terms entity = terms.get(id);
+				int score = 0;
+				for (String word : words) {
+					int weight = entity.bestWeight(word);
+					if (weight == 0) {
+						return;
+					}
+					score += weight;
+				}
+				if (best.size() < limit) {
+					best.add(new Hit(id, score));
+				} else if (score > best.peek().score()) {
+					best.poll();
+					best.add(new Hit(id, score));
+				}
+			});
+		}
+		int[] result = new int[best.size()];
+		for (int i = result.length - 1; i >= 0; i--) {
+			result[i] = best.poll().id();
+		}
+		return result;
+	}
+
+	/**
+	 * Walks the weight buckets of the terms starting with {@code word} from the heaviest down. An entity is
+	 * first met in the bucket of its best weight, so the hits come out already ranked. The result is sized
+	 * by the postings found, never by {@code limit} alone.
+	 */
+	private int[] searchWord(String word, int limit) {
+		Collection<Postings> range = withPrefix(word).values();
+		int total = 0;
+		for (Postings term : range) {
+			total += term.size;
+		}
+		if (total == 0) {
+			return new int[0];
+		}
+		IntOrderedSet seen = range.size() > 1 ? new IntOrderedSet() : null;
+		int[] result = new int[Math.min(limit, Math.min(total, terms.size()))];
+		int found = 0;
+		for (int weight = MAX_WEIGHT; weight > 0 && found < result.length; weight--) {
+			for (Postings term : range) {
+				IntOrderedSet ids = term.byWeight[weight];
+				if (ids == null) {
+					continue;
+				}
+				for (PrimitiveIterator.OfInt it = ids.iterator(); it.hasNext() && found < result.length; ) {
+					int id = it.nextInt();
+					if (seen == null || seen.add(id)) {
+						result[found++] = id;
+					}
+				}
+				if (found == result.length) {
+					break;
+				}
+			}
+		}
+		return found == result.length ? result : Arrays.copyOf(result, found);
+	}
+
+	private NavigableMap<String, Postings> withPrefix(String prefix) {
+		return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+	}
+
+	/**
+	 * Adds the entity to the postings of its terms and returns those terms.
+	 */
+	private Terms addTerms(TaskSnapshot snapshot) {
+		TreeMap<String, Integer> weights = new TreeMap<>();
+		for (String word : tokenize(snapshot.name())) {
+			weights.merge(word, NAME_WEIGHT, Integer::sum);
+		}
+		for (String word : tokenize(snapshot.description())) {
+			weights.merge(word, 1, Integer::sum);
+		}
+		String[] words = new String[weights.size()];
+		int[] values = new int[weights.size()];
+		int i = 0;
+		for (var entry : weights.entrySet()) {
+			String word = entry.getKey();
+			int weight = Math.min(entry.getValue(), MAX_WEIGHT);
+			Postings ids = postings.get(word);
+			if (ids == null) {
+				ids = new Postings();
+				postings.put(word, ids);
+			} else {
+				word = postings.ceilingKey(word);
+			}
+			ids.add(snapshot.id(), weight);
+			words[i] = word;
+			values[i++] = weight;
+		}
+		return new Terms(words, values);
+	}
+
+	/**
+	 * Splits {@code text} into lower-cased runs of letters and digits, folding "ё" into "е".
+	 */
+	static List<String> tokenize(String text) {
+		List<String> words = new ArrayList<>();
+		if (text == null) {
+			return words;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			} else if (!inWord && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ROOT).replace('ё', 'е'));
+				start = -1;
+			}
+		}
+		return words;
+	}
+}
@@ -0,0 +1,16 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A scheduled task colliding with a candidate, together with the span {@code [overlapStart, overlapEnd)}
+ * in which both occupy the time.
+ */
+public record TimeConflict(int taskId, LocalDateTime overlapStart, LocalDateTime overlapEnd) implements Serializable {
+
+	@Override
+	public String toString() {
+		return "id=" + taskId + " [" + overlapStart + ", " + overlapEnd + ")";
+	}
+}
@@ -0,0 +1,14 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A span of time {@code [start, end)}.
+ */
+public record TimeSlot(LocalDateTime start, LocalDateTime end) {
+
+	public Duration duration() {
+		return Duration.between(start, end);
+	}
+}
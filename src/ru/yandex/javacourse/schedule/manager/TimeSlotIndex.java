@@ -0,0 +1,173 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+
+/**
+ * Index of the time slots {@code [startTime, endTime)} occupied by tasks and subtasks.
+ * <p>
+ * Slots are kept in a tree ordered by start, so memory grows with the number of scheduled tasks rather
+ * than with the calendar span, and any date range is supported. The manager never stores overlapping
+ * slots, so of the slots starting before {@code start} only the nearest one can overlap
+ * {@code [start, end)}; an overlap check looks at that one and at the slots starting inside the interval,
+ * which makes it O(log n + k) for k conflicts whatever the stored durations. Free-slot search starts the
+ * same way, from the nearest slot before the window. Restored data is indexed as is; if it overlaps, a
+ * slot hidden behind a nearer earlier one is not seen.
+ */
+final class TimeSlotIndex {
+
+	private record Slot(LocalDateTime start, LocalDateTime end, int id) {
+	}
+
+	private static final Comparator<Slot> ORDER = Comparator.comparing(Slot::start).thenComparingInt(Slot::id);
+
+	private final NavigableSet<Slot> slots = new TreeSet<>(ORDER);
+	private final LongAdder visited = new LongAdder();
+
+	/**
+	 * Occupies the slot of {@code task}; tasks without start time, duration or with an empty slot are ignored.
+	 */
+	void add(Task task) {
+		Slot slot = slotOf(task);
+		if (slot != null) {
+			slots.add(slot);
+		}
+	}
+
+	void remove(Task task) {
+		Slot slot = slotOf(task);
+		if (slot != null) {
+			slots.remove(slot);
+		}
+	}
+
+	void clear() {
+		slots.clear();
+	}
+
+	int size() {
+		return slots.size();
+	}
+
+	/**
+	 * Returns {@code true} if the slot of {@code candidate} overlaps no slot of another task. The slot
+	 * stored under the candidate's own id is ignored, so a task may be re-validated in place.
+	 */
+	boolean isFree(Task candidate) {
+		Slot slot = slotOf(candidate);
+		if (slot == null) {
+			return true;
+		}
+		for (Slot other : overlapping(slot)) {
+			if (other.id() != slot.id()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns every slot of another task overlapping the slot of {@code candidate}, in start order, with the
+	 * overlapping span.
+	 */
+	List<TimeConflict> conflicts(Task candidate) {
+		Slot slot = slotOf(candidate);
+		if (slot == null) {
+			return List.of();
+		}
+		List<TimeConflict> conflicts = new ArrayList<>();
+		for (Slot other : overlapping(slot)) {
+			if (other.id() != slot.id()) {
+				LocalDateTime overlapStart = other.start().isAfter(slot.start()) ? other.start() : slot.start();
+				LocalDateTime overlapEnd = other.end().isBefore(slot.end()) ? other.end() : slot.end();
+				conflicts.add(new TimeConflict(other.id(), overlapStart, overlapEnd));
+			}
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Collects gaps of at least {@code duration} inside {@code [from, to)}, earliest first, stopping after
+	 * {@code limit} gaps. Each gap is reported whole, clipped to the window.
+	 */
+	List<TimeSlot> freeSlots(Duration duration, LocalDateTime from, LocalDateTime to, int limit) {
+		List<TimeSlot> gaps = new ArrayList<>();
+		Slot lower = new Slot(from, null, Integer.MIN_VALUE);
+		Slot upper = new Slot(to, null, Integer.MIN_VALUE);
+
+		LocalDateTime cursor = from;
+		Slot before = slots.lower(lower);
+		if (before != null) {
+			visited.increment();
+			if (before.end().isAfter(cursor)) {
+				cursor = before.end();
+			}
+		}
+		for (Slot slot : slots.subSet(lower, true, upper, false)) {
+			visited.increment();
+			if (slot.start().isAfter(cursor)) {
+				if (!Duration.between(cursor, slot.start()).minus(duration).isNegative()) {
+					gaps.add(new TimeSlot(cursor, slot.start()));
+					if (gaps.size() == limit) {
+						return gaps;
+					}
+				}
+			}
+			if (slot.end().isAfter(cursor)) {
+				cursor = slot.end();
+			}
+		}
+		if (cursor.isBefore(to) && !Duration.between(cursor, to).minus(duration).isNegative()) {
+			gaps.add(new TimeSlot(cursor, to));
+		}
+		return gaps;
+	}
+
+	/**
+	 * Returns the stored slots overlapping {@code slot}, in start order. Stored slots do not overlap each
+	 * other, so of those starting before {@code slot} only the nearest one can reach into it; the rest are
+	 * the slots starting inside it.
+	 */
+	private List<Slot> overlapping(Slot slot) {
+		List<Slot> found = new ArrayList<>();
+		Slot from = new Slot(slot.start(), null, Integer.MIN_VALUE);
+		Slot before = slots.lower(from);
+		if (before != null) {
+			visited.increment();
+			if (before.end().isAfter(slot.start())) {
+				found.add(before);
+			}
+		}
+		for (Slot other : slots.subSet(from, true, new Slot(slot.end(), null, Integer.MIN_VALUE), false)) {
+			visited.increment();
+			found.add(other);
+		}
+		return found;
+	}
+
+	/**
+	 * Returns how many stored slots the queries have examined so far.
+	 */
+	long visitedSlots() {
+		return visited.sum();
+	}
+
+	private static Slot slotOf(Task task) {
+		if (task == null || task.getStartTime() == null) {
+			return null;
+		}
+		LocalDateTime end = task.getEndTime();
+		if (end == null || !end.isAfter(task.getStartTime())) {
+			return null;
+		}
+		return new Slot(task.getStartTime(), end, task.getId());
+	}
+}
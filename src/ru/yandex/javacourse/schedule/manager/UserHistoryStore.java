@@ -0,0 +1,57 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+import ru.yandex.javacourse.schedule.util.IntRecentList;
+
+/**
+ * "Recently viewed" lists of many users over the entities of one manager.
+ * <p>
+ * A user's list holds entity ids, not entities, in an {@link IntRecentList} of a fixed capacity, so each
+ * user costs a small {@code int[]} regardless of the size of the viewed tasks. Ids are never reused by a
+ * manager, so ids of deleted entities are not searched for across all users on delete: they are skipped
+ * and dropped when a list is read. Each list is guarded by its own monitor, so users never wait for each
+ * other.
+ */
+final class UserHistoryStore {
+
+	static final int DEFAULT_CAPACITY = 10;
+
+	private final ConcurrentHashMap<String, IntRecentList> histories = new ConcurrentHashMap<>();
+	private final int capacity;
+
+	UserHistoryStore(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+	}
+
+	void add(String userId, int id) {
+		Objects.requireNonNull(userId, "userId");
+		IntRecentList history = histories.computeIfAbsent(userId, key -> new IntRecentList(capacity));
+		synchronized (history) {
+			history.add(id);
+		}
+	}
+
+	/**
+	 * Returns the ids viewed by the user, oldest first, after dropping those rejected by {@code alive}.
+	 */
+	int[] get(String userId, IntPredicate alive) {
+		IntRecentList history = histories.get(Objects.requireNonNull(userId, "userId"));
+		if (history == null) {
+			return new int[0];
+		}
+		synchronized (history) {
+			history.removeIf(alive.negate());
+			return history.toArray();
+		}
+	}
+
+	void remove(String userId) {
+		histories.remove(Objects.requireNonNull(userId, "userId"));
+	}
+}
@@ -0,0 +1,55 @@
+package ru.yandex.javacourse.schedule.tasks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Immutable state of a task, epic or subtask at one moment.
+ * <p>
+ * A snapshot can be shared freely: nobody can change it, so a manager hands out the same instance to every
+ * reader until the entity changes. {@code epicId} is {@code 0} for anything but a subtask. The subtasks of
+ * an epic are not part of its snapshot, so that taking one costs the same for any epic; ask the manager for
+ * them. To edit an entity, take {@link #toTask()}, change it and pass it to the manager's update method.
+ */
+public record TaskSnapshot(int id, TaskType type, String name, String description, TaskStatus status,
+		Duration duration, LocalDateTime startTime, LocalDateTime endTime, int epicId) {
+
+	public TaskSnapshot {
+		Objects.requireNonNull(type, "type");
+	}
+
+	public static TaskSnapshot of(Task task) {
+		return switch (task.getType()) {
+			case TASK -> new TaskSnapshot(task.getId(), TaskType.TASK, task.getName(), task.getDescription(),
+					task.getStatus(), task.getDuration(), task.getStartTime(), task.getEndTime(), 0);
+			case EPIC -> new TaskSnapshot(task.getId(), TaskType.EPIC, task.getName(), task.getDescription(),
+					task.getStatus(), task.getDuration(), task.getStartTime(), task.getEndTime(), 0);
+			case SUBTASK -> new TaskSnapshot(task.getId(), TaskType.SUBTASK, task.getName(), task.getDescription(),
+					task.getStatus(), task.getDuration(), task.getStartTime(), task.getEndTime(),
+					((Subtask) task).getEpicId());
+		};
+	}
+
+	/**
+	 * Returns a new mutable entity of the matching class with the state of this snapshot. An epic comes
+	 * without subtask ids, which the manager keeps to itself on update anyway.
+	 */
+	public Task toTask() {
+		return switch (type) {
+			case TASK -> new Task(id, name, description, status, duration, startTime);
+			case EPIC -> {
+				Epic epic = new Epic(id, name, description);
+				epic.setStatus(status);
+				epic.setCalculatedFields(duration, startTime, endTime);
+				yield epic;
+			}
+			case SUBTASK -> {
+				Subtask subtask = new Subtask(id, name, description, status, epicId);
+				subtask.setDuration(duration);
+				subtask.setStartTime(startTime);
+				yield subtask;
+			}
+		};
+	}
+}
@@ -1,10 +1,10 @@
-package ru.yandex.javacourse.schedule.tasks;
-
-/**
- * Task status.
- *
- * @author Vladimir Ivanov (ivanov.vladimir.l@gmail.com)
- */
-public enum TaskStatus {
-	NEW, IN_PROGRESS, DONE
-}
+package ru.yandex.javacourse.schedule.tasks;
+
+/**
+ * Task status.
+ *
+ * @author Vladimir Ivanov (ivanov.vladimir.l@gmail.com)
+ */
+public enum TaskStatus {
+	NEW, IN_PROGRESS, DONE
+}
@@ -0,0 +1,238 @@
+package ru.yandex.javacourse.schedule.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Hash map from {@code int} keys to objects without boxing the keys.
+ * <p>
+ * Open addressing with linear probing over two parallel arrays, load factor at most one half and
+ * backward-shift deletion, so there are no tombstones. Keys are mixed before they are masked, so ids of
+ * one type that come at a fixed stride, such as epics separated by runs of subtasks, spread over the table
+ * instead of collapsing into one probe chain. Iteration follows the table, not the ids.
+ * <p>
+ * Deletion does not scan to the end of a run of occupied slots: it stops once it is farther from the gap
+ * than the longest probe distance in the table, as no entry beyond that point can belong before it.
+ */
+public final class IntObjectHashMap<V> {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+	private int maxProbe;
+	private int modCount;
+	private Collection<V> valuesView;
+
+	public IntObjectHashMap() {
+		this(MIN_CAPACITY / 2);
+	}
+
+	public IntObjectHashMap(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(int key) {
+		return indexOf(key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+		int index = indexOf(key);
+		return index < 0 ? null : (V) values[index];
+	}
+
+	/**
+	 * @return the previous value, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) {
+		if (value == null) {
+			throw new NullPointerException("value");
+		}
+		int index = hash(key) & mask;
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				V previous = (V) values[index];
+				values[index] = value;
+				return previous;
+			}
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		values[index] = value;
+		maxProbe = Math.max(maxProbe, (index - hash(key)) & mask);
+		modCount++;
+		if (++size * 2 > keys.length) {
+			rehash(keys.length * 2);
+		}
+		return null;
+	}
+
+	public V computeIfAbsent(int key, IntFunction<? extends V> factory) {
+		V value = get(key);
+		if (value == null) {
+			value = factory.apply(key);
+			put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * @return the removed value, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(int key) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		V previous = (V) values[index];
+		delete(index);
+		size--;
+		modCount++;
+		return previous;
+	}
+
+	public void clear() {
+		if (size == 0) {
+			return;
+		}
+		Arrays.fill(values, null);
+		size = 0;
+		maxProbe = 0;
+		modCount++;
+	}
+
+	/**
+	 * Read-only view of the values, iterated in table order. Removal through the view is not supported.
+	 */
+	public Collection<V> values() {
+		if (valuesView == null) {
+			valuesView = new AbstractCollection<>() {
+				@Override
+				public Iterator<V> iterator() {
+					return new ValueIterator();
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return valuesView;
+	}
+
+	/**
+	 * Returns the longest distance of an entry from its home slot.
+	 */
+	int maxProbe() {
+		return maxProbe;
+	}
+
+	private int indexOf(int key) {
+		int index = hash(key) & mask;
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void delete(int index) {
+		int gap = index;
+		int next = (gap + 1) & mask;
+		while (values[next] != null && ((next - gap) & mask) <= maxProbe) {
+			int home = hash(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		values[gap] = null;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+		maxProbe = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != null) {
+				int index = hash(oldKeys[i]) & mask;
+				while (values[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+				maxProbe = Math.max(maxProbe, (index - hash(oldKeys[i])) & mask);
+			}
+		}
+	}
+
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private final class ValueIterator implements Iterator<V> {
+		private final int expected = modCount;
+		private int index = advance(0);
+
+		private int advance(int from) {
+			while (from < values.length && values[from] == null) {
+				from++;
+			}
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < values.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V next() {
+			if (modCount != expected) {
+				throw new ConcurrentModificationException();
+			}
+			if (index >= values.length) {
+				throw new NoSuchElementException();
+			}
+			V value = (V) values[index];
+			index = advance(index + 1);
+			return value;
+		}
+	}
+}
@@ -0,0 +1,275 @@
+package ru.yandex.javacourse.schedule.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of {@code int} values that keeps insertion order and does not box.
+ * <p>
+ * Values are kept in a dense array in insertion order, and a linear-probing hash table maps each value to
+ * its position, so {@link #add}, {@link #remove} and {@link #contains} are O(1). A removal leaves a hole
+ * that is squeezed out once holes outnumber live values. No read changes the layout, so any number of
+ * threads may read a set that is not being modified.
+ */
+public final class IntOrderedSet {
+
+	private static final int MIN_CAPACITY = 8;
+
+	private int[] elements = new int[MIN_CAPACITY];
+	private final BitSet holes = new BitSet();
+	private int end;
+	private int size;
+
+	private int[] keys = new int[MIN_CAPACITY * 2];
+	private int[] positions = new int[MIN_CAPACITY * 2];
+	private int mask = keys.length - 1;
+
+	private int modCount;
+	private List<Integer> view;
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int value) {
+		return indexOf(value) >= 0;
+	}
+
+	/**
+	 * Appends {@code value} unless it is already present.
+	 *
+	 * @return {@code true} if the set changed
+	 */
+	public boolean add(int value) {
+		if (contains(value)) {
+			return false;
+		}
+		if (end == elements.length) {
+			if (end - size >= size) {
+				compact();
+			} else {
+				elements = Arrays.copyOf(elements, elements.length * 2);
+			}
+		}
+		if ((size + 1) * 2 > keys.length) {
+			rehash(keys.length * 2);
+		}
+		elements[end] = value;
+		insert(value, end);
+		end++;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * @return {@code true} if {@code value} was present
+	 */
+	public boolean remove(int value) {
+		int index = indexOf(value);
+		if (index < 0) {
+			return false;
+		}
+		holes.set(positions[index] - 1);
+		delete(index);
+		size--;
+		modCount++;
+		if (end - size > size && end > MIN_CAPACITY) {
+			compact();
+		}
+		return true;
+	}
+
+	public void clear() {
+		Arrays.fill(positions, 0);
+		holes.clear();
+		end = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns the value at {@code index} in insertion order: O(1) while the set has no holes, otherwise a
+	 * scan past the holes before {@code index}.
+	 */
+	public int get(int index) {
+		Objects.checkIndex(index, size);
+		if (end == size) {
+			return elements[index];
+		}
+		int position = holes.nextClearBit(0);
+		for (int i = 0; i < index; i++) {
+			position = holes.nextClearBit(position + 1);
+		}
+		return elements[position];
+	}
+
+	public void forEach(IntConsumer action) {
+		PrimitiveIterator.OfInt iterator = iterator();
+		while (iterator.hasNext()) {
+			action.accept(iterator.nextInt());
+		}
+	}
+
+	/**
+	 * Iterates in insertion order. Additions and removals during iteration are not supported.
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			private final int expected = modCount;
+			private int returned;
+			private int position;
+
+			@Override
+			public boolean hasNext() {
+				return returned < size;
+			}
+
+			@Override
+			public int nextInt() {
+				if (modCount != expected) {
+					throw new ConcurrentModificationException();
+				}
+				if (returned >= size) {
+					throw new NoSuchElementException();
+				}
+				while (holes.get(position)) {
+					position++;
+				}
+				returned++;
+				return elements[position++];
+			}
+		};
+	}
+
+	public int[] toArray() {
+		int[] result = new int[size];
+		int i = 0;
+		for (int j = 0; j < end; j++) {
+			if (!holes.get(j)) {
+				result[i++] = elements[j];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a read-only list view backed by this set. The view is not a copy: later changes of the set
+	 * are visible through it. Iterate the view rather than index it while the set may have holes.
+	 */
+	public List<Integer> asList() {
+		if (view == null) {
+			view = new AbstractList<>() {
+				@Override
+				public Integer get(int index) {
+					return IntOrderedSet.this.get(index);
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public Iterator<Integer> iterator() {
+					return IntOrderedSet.this.iterator();
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return o instanceof Integer value && IntOrderedSet.this.contains(value);
+				}
+			};
+		}
+		return view;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private void compact() {
+		int write = 0;
+		for (int read = 0; read < end; read++) {
+			if (holes.get(read)) {
+				continue;
+			}
+			int value = elements[read];
+			elements[write] = value;
+			positions[indexOf(value)] = write + 1;
+			write++;
+		}
+		holes.clear();
+		end = write;
+	}
+
+	private int indexOf(int value) {
+		int index = hash(value) & mask;
+		while (positions[index] != 0) {
+			if (keys[index] == value) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void insert(int value, int position) {
+		int index = hash(value) & mask;
+		while (positions[index] != 0) {
+			index = (index + 1) & mask;
+		}
+		keys[index] = value;
+		positions[index] = position + 1;
+	}
+
+	/**
+	 * Backward-shift deletion: entries after the freed slot are moved back so that probing never meets
+	 * a gap before reaching its key.
+	 */
+	private void delete(int index) {
+		int gap = index;
+		int next = (gap + 1) & mask;
+		while (positions[next] != 0) {
+			int home = hash(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				positions[gap] = positions[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		positions[gap] = 0;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldPositions = positions;
+		keys = new int[capacity];
+		positions = new int[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldPositions[i] != 0) {
+				insert(oldKeys[i], oldPositions[i] - 1);
+			}
+		}
+	}
+
+	private static int hash(int value) {
+		int h = value * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
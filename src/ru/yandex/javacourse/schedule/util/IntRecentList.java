@@ -0,0 +1,112 @@
+package ru.yandex.javacourse.schedule.util;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Bounded list of the most recently added distinct {@code int} values, oldest first.
+ * <p>
+ * Values live in a ring buffer of a fixed capacity, so an instance costs one small {@code int[]} and a few
+ * fields. Adding a value that is already present moves it to the end; adding to a full list drops the
+ * oldest value. Lookups scan the buffer, which is meant for the short "recently viewed" lists where the
+ * capacity is a few dozen values at most. The class is not thread-safe.
+ */
+public final class IntRecentList {
+
+	private final int[] values;
+	private int head;
+	private int size;
+
+	public IntRecentList(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		values = new int[capacity];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return values.length;
+	}
+
+	/**
+	 * Appends {@code value}, moving it to the end if it is present and evicting the oldest value if the
+	 * list is full.
+	 */
+	public void add(int value) {
+		int found = indexOf(value);
+		if (found >= 0) {
+			for (int i = found; i < size - 1; i++) {
+				values[slot(i)] = values[slot(i + 1)];
+			}
+			values[slot(size - 1)] = value;
+			return;
+		}
+		if (size == values.length) {
+			head = slot(1);
+			size--;
+		}
+		values[slot(size)] = value;
+		size++;
+	}
+
+	public boolean remove(int value) {
+		return removeIf(v -> v == value) > 0;
+	}
+
+	/**
+	 * Removes every value matching {@code filter}, keeping the order of the rest.
+	 *
+	 * @return the number of removed values
+	 */
+	public int removeIf(IntPredicate filter) {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			int value = values[slot(i)];
+			if (!filter.test(value)) {
+				values[slot(kept++)] = value;
+			}
+		}
+		int removed = size - kept;
+		size = kept;
+		return removed;
+	}
+
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * Returns the values from the oldest to the most recent.
+	 */
+	public int[] toArray() {
+		int[] result = new int[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = values[slot(i)];
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private int indexOf(int value) {
+		for (int i = 0; i < size; i++) {
+			if (values[slot(i)] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int slot(int index) {
+		int slot = head + index;
+		return slot < values.length ? slot : slot - values.length;
+	}
+}
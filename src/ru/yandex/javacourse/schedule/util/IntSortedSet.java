@@ -0,0 +1,178 @@
+package ru.yandex.javacourse.schedule.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Set of {@code int} values kept in ascending order in a sorted array.
+ * <p>
+ * Made for ids handed out in increasing order: adding a value greater than every other one is an append,
+ * and iteration can start after any value in O(log n) by binary search. Removal marks the position as a
+ * hole, which iteration skips; holes are squeezed out once they outnumber live values, or before a value
+ * has to be inserted in the middle. Reading never changes the layout, so any number of threads may read
+ * a set that is not being modified.
+ */
+public final class IntSortedSet {
+
+	private static final int MIN_CAPACITY = 8;
+
+	private int[] values = new int[MIN_CAPACITY];
+	private final BitSet holes = new BitSet();
+	private int end;
+	private int size;
+	private int modCount;
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int value) {
+		int position = Arrays.binarySearch(values, 0, end, value);
+		return position >= 0 && !holes.get(position);
+	}
+
+	/**
+	 * @return {@code true} if the set changed
+	 */
+	public boolean add(int value) {
+		if (end == 0 || value > values[end - 1]) {
+			if (end == values.length) {
+				grow();
+			}
+			values[end++] = value;
+		} else {
+			int position = Arrays.binarySearch(values, 0, end, value);
+			if (position >= 0) {
+				if (!holes.get(position)) {
+					return false;
+				}
+				holes.clear(position);
+			} else {
+				compact();
+				if (end == values.length) {
+					grow();
+				}
+				position = Arrays.binarySearch(values, 0, end, value);
+				int insertAt = -position - 1;
+				System.arraycopy(values, insertAt, values, insertAt + 1, end - insertAt);
+				values[insertAt] = value;
+				end++;
+			}
+		}
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * @return {@code true} if {@code value} was present
+	 */
+	public boolean remove(int value) {
+		int position = Arrays.binarySearch(values, 0, end, value);
+		if (position < 0 || holes.get(position)) {
+			return false;
+		}
+		holes.set(position);
+		while (end > 0 && holes.get(end - 1)) {
+			holes.clear(--end);
+		}
+		size--;
+		modCount++;
+		if (end - size > size && end > MIN_CAPACITY) {
+			compact();
+		}
+		return true;
+	}
+
+	public void clear() {
+		holes.clear();
+		end = 0;
+		size = 0;
+		modCount++;
+	}
+
+	public PrimitiveIterator.OfInt iterator() {
+		return new Iterator(0);
+	}
+
+	/**
+	 * Iterates the values greater than {@code value} in ascending order.
+	 */
+	public PrimitiveIterator.OfInt iteratorAfter(int value) {
+		int position = Arrays.binarySearch(values, 0, end, value);
+		return new Iterator(position >= 0 ? position + 1 : -position - 1);
+	}
+
+	public int[] toArray() {
+		int[] result = new int[size];
+		int i = 0;
+		for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+			result[i++] = it.nextInt();
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private void grow() {
+		values = Arrays.copyOf(values, values.length * 2);
+	}
+
+	private void compact() {
+		if (end == size) {
+			return;
+		}
+		int write = 0;
+		for (int read = 0; read < end; read++) {
+			if (!holes.get(read)) {
+				values[write++] = values[read];
+			}
+		}
+		holes.clear();
+		end = write;
+	}
+
+	private final class Iterator implements PrimitiveIterator.OfInt {
+		private final int expected = modCount;
+		private int position;
+
+		Iterator(int position) {
+			this.position = skipHoles(position);
+		}
+
+		private int skipHoles(int from) {
+			while (from < end && holes.get(from)) {
+				from++;
+			}
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < end;
+		}
+
+		@Override
+		public int nextInt() {
+			if (modCount != expected) {
+				throw new ConcurrentModificationException();
+			}
+			if (position >= end) {
+				throw new NoSuchElementException();
+			}
+			int value = values[position];
+			position = skipHoles(position + 1);
+			return value;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.exceptions.ManagerSaveException;
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncFileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
+
+    private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+    private final List<AsyncFileBackedTaskManager> managers = new ArrayList<>();
+
+    private File createTempFile() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.deleteOnExit();
+        return file;
+    }
+
+    private AsyncFileBackedTaskManager createManager(File file, Duration interval, int threshold) {
+        AsyncFileBackedTaskManager manager = AsyncFileBackedTaskManager.create(file, SnapshotFormat.CSV, interval, threshold);
+        managers.add(manager);
+        return manager;
+    }
+
+    @Override
+    protected TaskManager createManager() {
+        try {
+            return createManager(createTempFile(), LONG_INTERVAL, 1000);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @AfterEach
+    void closeManagers() {
+        managers.forEach(AsyncFileBackedTaskManager::close);
+    }
+
+    @Test
+    @DisplayName("серия мутаций записывается одним снимком при flush")
+    void burstIsCoalescedIntoSingleWrite() throws IOException {
+        File file = createTempFile();
+        AsyncFileBackedTaskManager manager = createManager(file, LONG_INTERVAL, 1000);
+
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        for (int i = 0; i < 99; i++) {
+            manager.addNewSubtask(new Subtask("S" + i, "d", TaskStatus.NEW, epicId));
+        }
+        assertEquals(0, file.length(), "мутации не должны ждать записи на диск");
+
+        manager.flush();
+
+        SaveStatistics statistics = manager.getSaveStatistics();
+        assertEquals(100, statistics.requests());
+        assertEquals(1, statistics.writes());
+        assertEquals(99, statistics.coalesced());
+        assertEquals(99, FileBackedTaskManager.loadFromFile(file).getSubtasks().size());
+    }
+
+    @Test
+    @DisplayName("порог грязных изменений запускает фоновую запись")
+    void thresholdTriggersBackgroundWrite() throws Exception {
+        File file = createTempFile();
+        AsyncFileBackedTaskManager manager = createManager(file, LONG_INTERVAL, 5);
+
+        for (int i = 0; i < 5; i++) {
+            manager.addNewTask(new Task("T" + i, "d", TaskStatus.NEW));
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (manager.getSaveStatistics().writes() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, manager.getSaveStatistics().writes());
+        assertEquals(5, FileBackedTaskManager.loadFromFile(file).getTasks().size());
+    }
+
+    @Test
+    @DisplayName("интервал запускает фоновую запись")
+    void intervalTriggersBackgroundWrite() throws Exception {
+        File file = createTempFile();
+        AsyncFileBackedTaskManager manager = createManager(file, Duration.ofMillis(20), 1000);
+
+        manager.addNewTask(new Task("T", "d", TaskStatus.NEW));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (manager.getSaveStatistics().writes() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, FileBackedTaskManager.loadFromFile(file).getTasks().size());
+    }
+
+    @Test
+    @DisplayName("close записывает несохранённые изменения")
+    void closeFlushesPendingChanges() throws IOException {
+        File file = createTempFile();
+        AsyncFileBackedTaskManager manager = createManager(file, LONG_INTERVAL, 1000);
+        manager.addNewTask(new Task("T", "d", TaskStatus.NEW));
+
+        manager.close();
+
+        assertEquals(1, FileBackedTaskManager.loadFromFile(file).getTasks().size());
+    }
+
+    @Test
+    @DisplayName("ошибка записи пробрасывается из flush")
+    void flushReportsWriteFailure() {
+        File dir = new File(System.getProperty("java.io.tmpdir"), "tm_async_dir_" + System.nanoTime());
+        assertTrue(dir.mkdir());
+        dir.deleteOnExit();
+
+        AsyncFileBackedTaskManager manager = AsyncFileBackedTaskManager.create(dir, SnapshotFormat.CSV, LONG_INTERVAL, 1000);
+        manager.addNewTask(new Task("T", "d", TaskStatus.NEW));
+
+        assertThrows(ManagerSaveException.class, manager::flush);
+    }
+}
@@ -0,0 +1,177 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.exceptions.ManagerSaveException;
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySnapshotTest {
+
+    private File createTempFile(String suffix) throws IOException {
+        File file = File.createTempFile("tasks", suffix);
+        file.deleteOnExit();
+        return file;
+    }
+
+    private FileBackedTaskManager fill(FileBackedTaskManager manager) {
+        Task task = new Task("Задача, с запятой", "Описание, тоже с запятой", TaskStatus.IN_PROGRESS);
+        task.setStartTime(LocalDateTime.of(2025, 12, 31, 23, 59, 30, 500));
+        task.setDuration(Duration.ofMinutes(90));
+        manager.addNewTask(task);
+
+        int epicId = manager.addNewEpic(new Epic("Эпик", null));
+        Subtask subtask = new Subtask("Подзадача", "Описание", TaskStatus.DONE, epicId);
+        subtask.setStartTime(LocalDateTime.of(2030, 5, 1, 8, 0));
+        subtask.setDuration(Duration.ofMinutes(15));
+        manager.addNewSubtask(subtask);
+        manager.addNewSubtask(new Subtask("Подзадача", "Описание", TaskStatus.NEW, epicId));
+        return manager;
+    }
+
+    @Test
+    @DisplayName("бинарный снимок сохраняется и загружается без потерь")
+    void roundTrip() throws IOException {
+        File file = createTempFile(".bin");
+        FileBackedTaskManager manager = fill(new FileBackedTaskManager(file, SnapshotFormat.BINARY));
+
+        assertEquals(SnapshotFormat.BINARY, SnapshotFormat.detect(file.toPath()));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+        assertEquals(SnapshotFormat.BINARY, loaded.getFormat());
+
+        Task task = loaded.getTask(1).orElseThrow();
+        assertEquals("Задача, с запятой", task.getName());
+        assertEquals("Описание, тоже с запятой", task.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertEquals(LocalDateTime.of(2025, 12, 31, 23, 59, 30, 500), task.getStartTime());
+        assertEquals(Duration.ofMinutes(90), task.getDuration());
+
+        Epic epic = loaded.getEpic(2).orElseThrow();
+        assertNull(epic.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus());
+        assertEquals(2, epic.getSubtaskIds().size());
+
+        Subtask subtask = loaded.getSubtask(3).orElseThrow();
+        assertEquals(2, subtask.getEpicId());
+        assertEquals(LocalDateTime.of(2030, 5, 1, 8, 0), subtask.getStartTime());
+        assertEquals(4, loaded.getLoadStatistics().rows());
+    }
+
+    @Test
+    @DisplayName("конвертация CSV -> бинарный -> CSV сохраняет данные")
+    void convertBothWays() throws IOException {
+        File csv = createTempFile(".csv");
+        File binary = createTempFile(".bin");
+        File back = createTempFile(".csv");
+
+        FileBackedTaskManager manager = new FileBackedTaskManager(csv);
+        Task task = new Task("T", "d", TaskStatus.NEW);
+        task.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        task.setDuration(Duration.ofMinutes(30));
+        manager.addNewTask(task);
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        manager.addNewSubtask(new Subtask("S", "d", TaskStatus.DONE, epicId));
+
+        FileBackedTaskManager.convert(csv, binary, SnapshotFormat.BINARY);
+        FileBackedTaskManager.convert(binary, back, SnapshotFormat.CSV);
+
+        assertEquals(SnapshotFormat.BINARY, SnapshotFormat.detect(binary.toPath()));
+        assertTrue(binary.length() < csv.length(), "бинарный снимок должен быть компактнее CSV");
+        assertEquals(Files.readAllLines(csv.toPath()), Files.readAllLines(back.toPath()));
+    }
+
+    @Test
+    @DisplayName("неизвестная версия формата отклоняется")
+    void rejectsUnknownVersion() throws IOException {
+        File file = createTempFile(".bin");
+        fill(new FileBackedTaskManager(file, SnapshotFormat.BINARY));
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[BinarySnapshotWriter.MAGIC.length] = 99;
+        Files.write(file.toPath(), bytes);
+
+        assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file));
+    }
+
+    @Test
+    @DisplayName("повреждённый бинарный снимок отклоняется по контрольной сумме")
+    void rejectsCorruptedSnapshot() throws IOException {
+        File file = createTempFile(".bin");
+        FileBackedTaskManager manager = new FileBackedTaskManager(file, SnapshotFormat.BINARY);
+        manager.addNewTask(new Task("Task", "description", TaskStatus.NEW));
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[BinarySnapshotWriter.MAGIC.length + 4] ^= 1;
+        Files.write(file.toPath(), bytes);
+
+        assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file));
+    }
+
+    @Test
+    @DisplayName("любой испорченный байт бинарного снимка даёт ManagerSaveException")
+    void everyFlippedByteIsRejected() throws IOException {
+        File file = createTempFile(".bin");
+        fill(new FileBackedTaskManager(file, SnapshotFormat.BINARY));
+        byte[] original = Files.readAllBytes(file.toPath());
+
+        for (int position = 0; position < original.length; position++) {
+            for (int mask : new int[]{0x01, 0x80, 0xFF}) {
+                byte[] bytes = original.clone();
+                bytes[position] ^= (byte) mask;
+                Files.write(file.toPath(), bytes);
+                assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file),
+                        "байт " + position + " ^ " + mask);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("обрезанный бинарный снимок отклоняется при любой длине")
+    void everyTruncationIsRejected() throws IOException {
+        File file = createTempFile(".bin");
+        fill(new FileBackedTaskManager(file, SnapshotFormat.BINARY));
+        byte[] original = Files.readAllBytes(file.toPath());
+
+        for (int length = 1; length < original.length; length++) {
+            Files.write(file.toPath(), Arrays.copyOf(original, length));
+            assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file),
+                    "длина " + length);
+        }
+    }
+
+    @Test
+    @DisplayName("огромная длина строки в снимке не выделяет память заранее")
+    void hugeLengthDoesNotAllocateUpFront() throws IOException {
+        File file = createTempFile(".bin");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(BinarySnapshotWriter.MAGIC);
+        out.write(BinarySnapshotWriter.VERSION);
+        BinarySnapshotWriter.writeVarLong(out, 1);
+        BinarySnapshotWriter.writeVarLong(out, Integer.MAX_VALUE - 8);
+        out.write(new byte[]{'a', 'b', 'c'});
+        Files.write(file.toPath(), out.toByteArray());
+
+        assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file));
+
+        out.reset();
+        out.write(BinarySnapshotWriter.MAGIC);
+        out.write(BinarySnapshotWriter.VERSION);
+        BinarySnapshotWriter.writeVarLong(out, Long.MAX_VALUE);
+        Files.write(file.toPath(), out.toByteArray());
+
+        assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file));
+    }
+}
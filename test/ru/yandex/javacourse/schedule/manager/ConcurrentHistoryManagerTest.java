@@ -0,0 +1,68 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentHistoryManagerTest extends HistoryManagerTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50;
+    private static final int VIEWS = 2_000;
+
+    @Override
+    protected HistoryManager createHistory() {
+        return new ConcurrentHistoryManager();
+    }
+
+    @Test
+    @DisplayName("параллельные просмотры: без дублей, порядок последних просмотров каждого потока сохраняется")
+    void concurrentViewsKeepLastViewOrder() throws InterruptedException {
+        HistoryManager history = createHistory();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int base = t * 1_000;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < VIEWS; i++) {
+                    history.add(new Task(base + i % IDS_PER_THREAD, "T", "d", TaskStatus.NEW));
+                    if (i % 7 == 0) {
+                        history.remove(base + (i + 3) % IDS_PER_THREAD);
+                    }
+                }
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    history.add(new Task(base + i, "T", "d", TaskStatus.NEW));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Integer> ids = history.getHistory().stream().map(Task::getId).toList();
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        assertEquals(ids.size(), new HashSet<>(ids).size(), "id не должен встречаться в истории дважды");
+        for (int t = 0; t < THREADS; t++) {
+            int base = t * 1_000;
+            List<Integer> own = ids.stream().filter(id -> id >= base && id < base + 1_000).toList();
+            assertEquals(IntStream.range(base, base + IDS_PER_THREAD).boxed().toList(), own);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Read-heavy throughput of {@link ConcurrentTaskManager} against {@link InMemoryTaskManager} behind a
+ * single global lock, for a growing number of threads. Each operation is a read with probability 95%
+ * (by-id lookup, epic subtasks or conflict check) and a task insert or delete otherwise.
+ */
+public class ConcurrentTaskManagerBenchmark {
+
+    private static final int TASKS = 20_000;
+    private static final long RUN_NANOS = Duration.ofSeconds(2).toNanos();
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("available processors: " + cores);
+        System.out.printf("%8s %20s %20s%n", "threads", "global lock ops/s", "read-write ops/s");
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            InMemoryTaskManager plain = fill(new InMemoryTaskManager());
+            Object monitor = new Object();
+            long global = run(threads, operation -> {
+                synchronized (monitor) {
+                    operation.accept(plain);
+                }
+            });
+            ConcurrentTaskManager concurrent = fill(new ConcurrentTaskManager());
+            long readWrite = run(threads, operation -> operation.accept(concurrent));
+            System.out.printf("%8d %20d %20d%n", threads, global, readWrite);
+        }
+    }
+
+    private static <T extends TaskManager> T fill(T manager) {
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        List<Task> board = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = i % 4 == 0
+                    ? new Subtask("S" + i, "d", TaskStatus.NEW, epicId)
+                    : new Task("T" + i, "d", TaskStatus.NEW);
+            task.setStartTime(base.plusMinutes(i * 60L));
+            task.setDuration(Duration.ofMinutes(30));
+            board.add(task);
+        }
+        manager.addAll(board);
+        return manager;
+    }
+
+    private static long run(int threads, Consumer<Consumer<TaskManager>> executor) throws InterruptedException {
+        AtomicLong operations = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Task probe = new Task("P", "d", TaskStatus.NEW);
+                probe.setDuration(Duration.ofMinutes(10));
+                long done = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.nanoTime() + RUN_NANOS;
+                while (System.nanoTime() < deadline) {
+                    int dice = random.nextInt(100);
+                    executor.accept(manager -> {
+                        if (dice < 30) {
+                            manager.getTask(2 + random.nextInt(TASKS));
+                        } else if (dice < 60) {
+                            manager.findConflicts(withStart(probe, base.plusMinutes(random.nextInt(TASKS * 60))));
+                        } else if (dice < 95) {
+                            manager.getPrioritizedTasksAfter(null, 10);
+                        } else {
+                            int id = manager.addNewTask(new Task("N", "d", TaskStatus.NEW));
+                            manager.deleteTask(id);
+                        }
+                    });
+                    done++;
+                }
+                operations.addAndGet(done);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.get() * 1_000_000_000L / RUN_NANOS;
+    }
+
+    private static Task withStart(Task probe, LocalDateTime start) {
+        Task task = new Task(probe.getId(), probe.getName(), probe.getDescription(), probe.getStatus());
+        task.setDuration(probe.getDuration());
+        task.setStartTime(start);
+        return task;
+    }
+}
@@ -0,0 +1,164 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.exceptions.ManagerValidateException;
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentTaskManagerTest extends TaskManagerTest<TaskManager> {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 3_000;
+
+    @Override
+    protected TaskManager createManager() {
+        return new ConcurrentTaskManager();
+    }
+
+    @Test
+    @DisplayName("параллельные чтения и записи сохраняют согласованность данных")
+    void stressKeepsInvariants() throws Exception {
+        TaskManager manager = createManager();
+        List<Integer> epicIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            epicIds.add(manager.addNewEpic(new Epic("E" + i, "d")));
+        }
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Integer> own = new ArrayList<>();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    switch (random.nextInt(6)) {
+                        case 0 -> {
+                            Task task = new Task("T", "d", TaskStatus.NEW);
+                            task.setStartTime(base.plusDays(thread * 7L).plusMinutes(i * 2L));
+                            task.setDuration(Duration.ofMinutes(1));
+                            own.add(manager.addNewTask(task));
+                        }
+                        case 1 -> {
+                            int epicId = epicIds.get(random.nextInt(epicIds.size()));
+                            TaskStatus status = TaskStatus.values()[random.nextInt(3)];
+                            Subtask subtask = new Subtask("S", "d", status, epicId);
+                            subtask.setStartTime(base.plusDays(thread * 7L).plusMinutes(i * 2L));
+                            subtask.setDuration(Duration.ofMinutes(1));
+                            manager.addNewSubtask(subtask);
+                        }
+                        case 2 -> {
+                            if (!own.isEmpty()) {
+                                manager.deleteTask(own.remove(own.size() - 1));
+                            }
+                        }
+                        case 3 -> manager.getEpic(epicIds.get(random.nextInt(epicIds.size())));
+                        case 4 -> manager.getEpicSubtasks(epicIds.get(random.nextInt(epicIds.size())));
+                        default -> {
+                            manager.getPrioritizedTasks();
+                            manager.getHistory();
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        runAll(workers);
+
+        List<Subtask> subtasks = manager.getSubtasks();
+        int linked = 0;
+        for (int epicId : epicIds) {
+            Epic epic = manager.getEpic(epicId).orElseThrow();
+            List<Subtask> own = manager.getEpicSubtasks(epicId);
+            assertEquals(epic.getSubtaskIds().size(), own.size(), "ссылки эпика должны указывать на подзадачи");
+            own.forEach(subtask -> assertEquals(epicId, subtask.getEpicId()));
+            assertEquals(expectedStatus(own), epic.getStatus());
+            linked += own.size();
+        }
+        assertEquals(subtasks.size(), linked);
+
+        List<Task> tasks = manager.getTasks();
+        Set<Integer> ids = new HashSet<>();
+        tasks.forEach(task -> assertTrue(ids.add(task.getId()), "id не должны повторяться"));
+        subtasks.forEach(subtask -> assertTrue(ids.add(subtask.getId()), "id не должны повторяться"));
+        assertEquals(tasks.size() + subtasks.size(), manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    @DisplayName("из параллельных попыток занять один слот успешна ровно одна")
+    void concurrentConflictingInsertsAdmitOne() throws Exception {
+        TaskManager manager = createManager();
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(() -> {
+                Task task = new Task("T", "d", TaskStatus.NEW);
+                task.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+                task.setDuration(Duration.ofMinutes(30));
+                try {
+                    manager.addNewTask(task);
+                    admitted.incrementAndGet();
+                } catch (ManagerValidateException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runAll(workers);
+
+        assertEquals(1, admitted.get());
+        assertEquals(THREADS - 1, rejected.get());
+    }
+
+    private static TaskStatus expectedStatus(List<Subtask> subtasks) {
+        if (subtasks.stream().allMatch(subtask -> subtask.getStatus() == TaskStatus.NEW)) {
+            return TaskStatus.NEW;
+        }
+        if (subtasks.stream().allMatch(subtask -> subtask.getStatus() == TaskStatus.DONE)) {
+            return TaskStatus.DONE;
+        }
+        return TaskStatus.IN_PROGRESS;
+    }
+
+    private static void runAll(List<Callable<Void>> workers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> worker : workers) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return worker.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvTaskReaderTest {
+
+    private static final String HEADER = "id,type,name,status,description,epic,duration,startTime\n";
+
+    private List<Task> readAll(String csv, int bufferSize) throws IOException {
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        List<Task> result = new ArrayList<>();
+        try (CsvTaskReader reader = new CsvTaskReader(Channels.newChannel(new ByteArrayInputStream(bytes)), bufferSize)) {
+            Task task;
+            while ((task = reader.next()) != null) {
+                result.add(task);
+            }
+            assertEquals(result.size(), reader.statistics().rows());
+            assertEquals(bytes.length, reader.statistics().bytes());
+        }
+        return result;
+    }
+
+    @Test
+    @DisplayName("строки всех типов разбираются без split")
+    void parsesAllTypes() throws IOException {
+        List<Task> tasks = readAll(HEADER
+                + "1,TASK,Задача 1,NEW,Описание задачи,,30,2025-01-01T10:00\n"
+                + "2,EPIC,Эпик,IN_PROGRESS,,,,\n"
+                + "3,SUBTASK,Подзадача,DONE,d,2,15,2025-03-04T05:06:07\n", CsvTaskReader.DEFAULT_BUFFER_SIZE);
+
+        assertEquals(3, tasks.size());
+
+        Task task = tasks.get(0);
+        assertEquals(1, task.getId());
+        assertEquals(TaskType.TASK, task.getType());
+        assertEquals("Задача 1", task.getName());
+        assertEquals("Описание задачи", task.getDescription());
+        assertEquals(Duration.ofMinutes(30), task.getDuration());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), task.getStartTime());
+
+        assertEquals(TaskType.EPIC, tasks.get(1).getType());
+        assertEquals("", tasks.get(1).getDescription());
+        assertNull(tasks.get(1).getStartTime());
+
+        Subtask subtask = (Subtask) tasks.get(2);
+        assertEquals(2, subtask.getEpicId());
+        assertEquals(TaskStatus.DONE, subtask.getStatus());
+        assertEquals(LocalDateTime.of(2025, 3, 4, 5, 6, 7), subtask.getStartTime());
+    }
+
+    @Test
+    @DisplayName("CRLF, пустые строки и последняя строка без перевода строки")
+    void handlesLineEndings() throws IOException {
+        List<Task> tasks = readAll(HEADER.replace("\n", "\r\n")
+                + "1,TASK,A,NEW,d,,,\r\n"
+                + "\r\n"
+                + "2,TASK,B,NEW,d,,,", CsvTaskReader.DEFAULT_BUFFER_SIZE);
+
+        assertEquals(List.of("A", "B"), tasks.stream().map(Task::getName).toList());
+    }
+
+    @Test
+    @DisplayName("строки длиннее буфера читаются целиком")
+    void growsBufferForLongLines() throws IOException {
+        String longName = "Ы".repeat(500);
+        List<Task> tasks = readAll(HEADER
+                + "1,TASK," + longName + ",NEW,d,,,\n"
+                + "2,TASK,short,NEW,d,,,\n", 16);
+
+        assertEquals(longName, tasks.get(0).getName());
+        assertEquals("short", tasks.get(1).getName());
+    }
+
+    @Test
+    @DisplayName("быстрый разбор времени совпадает с LocalDateTime.parse")
+    void parsesTimestamps() {
+        for (String value : List.of("2025-01-01T00:00", "1999-12-31T23:59:59", "2025-06-15T12:30:45.5",
+                "2025-06-15T12:30:45.123456789", "+12025-01-01T00:00")) {
+            byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(LocalDateTime.parse(value), CsvTaskReader.parseDateTime(bytes, 0, bytes.length), value);
+        }
+    }
+
+    @Test
+    @DisplayName("некорректная строка приводит к исключению")
+    void rejectsMalformedRow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> readAll(HEADER + "x,TASK,A,NEW,d,,,\n", CsvTaskReader.DEFAULT_BUFFER_SIZE));
+        assertThrows(IllegalArgumentException.class,
+                () -> readAll(HEADER + "1,STORY,A,NEW,d,,,\n", CsvTaskReader.DEFAULT_BUFFER_SIZE));
+    }
+}
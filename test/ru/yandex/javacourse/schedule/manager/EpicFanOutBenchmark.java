@@ -0,0 +1,26 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+/**
+ * Cost of filling one epic with many subtasks. Every subtask republishes its epic, so the time per subtask
+ * must not grow with the number of subtasks the epic already has.
+ */
+public class EpicFanOutBenchmark {
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %10s %14s%n", "subtasks", "ms", "µs / subtask");
+        for (int subtasks = 10_000; subtasks <= 80_000; subtasks *= 2) {
+            InMemoryTaskManager manager = new InMemoryTaskManager(Managers.getDefaultHistory());
+            int epicId = manager.addNewEpic(new Epic("E", "d"));
+            long start = System.nanoTime();
+            for (int i = 0; i < subtasks; i++) {
+                manager.addNewSubtask(new Subtask("S" + i, "d", TaskStatus.NEW, epicId));
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-10d %10.1f %14.2f%n", subtasks, elapsed / 1e6, elapsed / 1e3 / subtasks);
+        }
+    }
+}
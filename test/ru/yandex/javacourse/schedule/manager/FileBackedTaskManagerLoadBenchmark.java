@@ -0,0 +1,78 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Startup benchmark for {@link FileBackedTaskManager#loadFromFile(File)}: time per row must stay
+ * flat while the number of rows doubles. The rows/sec column is the parsing rate reported by the reader.
+ */
+public class FileBackedTaskManagerLoadBenchmark {
+
+    private static final int[] SIZES = {25_000, 50_000, 100_000, 200_000};
+    private static final int SUBTASKS_PER_EPIC = 10;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%10s %12s %12s %14s%n", "rows", "best ms", "ns/row", "rows/sec");
+        double previous = 0;
+        for (int size : SIZES) {
+            File file = File.createTempFile("load-bench", ".csv");
+            file.deleteOnExit();
+            writeSnapshot(file, size);
+
+            long best = Long.MAX_VALUE;
+            double rowsPerSecond = 0;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                FileBackedTaskManager manager = FileBackedTaskManager.loadFromFile(file);
+                best = Math.min(best, System.nanoTime() - start);
+                rowsPerSecond = Math.max(rowsPerSecond, manager.getLoadStatistics().rowsPerSecond());
+            }
+
+            double perRow = (double) best / size;
+            System.out.printf("%10d %12.1f %12.1f %14.0f%s%n", size, best / 1e6, perRow, rowsPerSecond,
+                    previous == 0 ? "" : String.format("   x%.2f per row", perRow / previous));
+            previous = perRow;
+        }
+    }
+
+    private static void writeSnapshot(File file, int rows) throws IOException {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("id,type,name,status,description,epic,duration,startTime");
+            writer.newLine();
+
+            int id = 0;
+            int epicId = 0;
+            while (id < rows) {
+                id++;
+                Task row;
+                if (id % 2 == 0) {
+                    row = new Task(id, "Задача " + id, "Описание", TaskStatus.NEW);
+                } else if (epicId == 0 || (id - epicId) / 2 >= SUBTASKS_PER_EPIC) {
+                    epicId = id;
+                    row = new Epic(id, "Эпик " + id, "Описание");
+                } else {
+                    row = new Subtask(id, "Подзадача " + id, "Описание", TaskStatus.IN_PROGRESS, epicId);
+                }
+                if (!(row instanceof Epic)) {
+                    row.setStartTime(base.plusMinutes(id * 10L));
+                    row.setDuration(Duration.ofMinutes(5));
+                }
+                writer.write(FileBackedTaskManager.taskToString(row));
+                writer.newLine();
+            }
+        }
+    }
+}
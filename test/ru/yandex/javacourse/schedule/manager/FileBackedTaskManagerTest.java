@@ -3,15 +3,20 @@ package ru.yandex.javacourse.schedule.manager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ru.yandex.javacourse.schedule.exceptions.ManagerSaveException;
+import ru.yandex.javacourse.schedule.exceptions.ManagerValidateException;
 import ru.yandex.javacourse.schedule.tasks.Epic;
 import ru.yandex.javacourse.schedule.tasks.Subtask;
 import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
 import ru.yandex.javacourse.schedule.tasks.TaskStatus;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -165,6 +170,168 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<TaskManager> {
     }
 
 
+    @Test
+    @DisplayName("загрузка сохраняет id с пропусками и ничего не пишет в файл")
+    void loadPreservesIdsAndDoesNotWrite() throws IOException {
+        File file = createTempFile();
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+
+        int removedId = manager.addNewTask(new Task("Removed", "d", TaskStatus.NEW));
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        Subtask subtask = new Subtask("S", "d", TaskStatus.DONE, epicId);
+        subtask.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        subtask.setDuration(Duration.ofMinutes(45));
+        int subtaskId = manager.addNewSubtask(subtask);
+        manager.deleteTask(removedId);
+
+        byte[] before = Files.readAllBytes(file.toPath());
+        long modifiedBefore = file.lastModified();
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+
+        assertArrayEquals(before, Files.readAllBytes(file.toPath()), "загрузка не должна переписывать файл");
+        assertEquals(modifiedBefore, file.lastModified());
+
+        Epic loadedEpic = loaded.getEpic(epicId).orElseThrow();
+        assertEquals(List.of(subtaskId), loadedEpic.getSubtaskIds());
+        assertEquals(TaskStatus.DONE, loadedEpic.getStatus());
+        assertEquals(Duration.ofMinutes(45), loadedEpic.getDuration());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 45), loadedEpic.getEndTime());
+        assertEquals(epicId, loaded.getSubtask(subtaskId).orElseThrow().getEpicId());
+        assertEquals(1, loaded.getPrioritizedTasks().size());
+
+        TaskSnapshot epicSnapshot = loaded.getSnapshot(epicId).orElseThrow();
+        assertEquals(loadedEpic.getEndTime(), epicSnapshot.endTime(), "снимки восстанавливаются вместе с данными");
+        assertEquals(TaskStatus.DONE, epicSnapshot.status());
+        assertTrue(loaded.getSnapshot(removedId).isEmpty());
+
+        int nextId = loaded.addNewTask(new Task("Next", "d", TaskStatus.NEW));
+        assertTrue(nextId > subtaskId, "новые id не должны пересекаться с загруженными");
+    }
+
+    @Test
+    @DisplayName("после загрузки занятые интервалы восстанавливаются")
+    void loadRestoresOccupiedSlots() throws IOException {
+        File file = createTempFile();
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+
+        Task task = new Task("T", "d", TaskStatus.NEW);
+        task.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        task.setDuration(Duration.ofMinutes(60));
+        manager.addNewTask(task);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+
+        Task overlapping = new Task("O", "d", TaskStatus.NEW);
+        overlapping.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 30));
+        overlapping.setDuration(Duration.ofMinutes(10));
+        assertThrows(ManagerValidateException.class, () -> loaded.addNewTask(overlapping));
+    }
+
+
+    @Test
+    @DisplayName("повреждённый снимок отклоняется по контрольной сумме")
+    void corruptedSnapshotIsRejected() throws IOException {
+        File file = createTempFile();
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+        manager.addNewTask(new Task("Task", "d", TaskStatus.NEW));
+
+        String content = Files.readString(file.toPath());
+        Files.writeString(file.toPath(), content.replace("Task,NEW", "Tusk,NEW"));
+
+        assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file));
+    }
+
+    @Test
+    @DisplayName("любой испорченный байт CSV-снимка даёт ManagerSaveException")
+    void everyFlippedByteIsRejected() throws IOException {
+        File file = createTempFile();
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+        int epicId = manager.addNewEpic(new Epic("Эпик", "описание"));
+        Subtask subtask = new Subtask("Подзадача", "d", TaskStatus.DONE, epicId);
+        subtask.setStartTime(LocalDateTime.of(2025, 5, 1, 9, 30));
+        subtask.setDuration(Duration.ofMinutes(45));
+        manager.addNewSubtask(subtask);
+        byte[] original = Files.readAllBytes(file.toPath());
+        int trailerEnd = original.length - System.lineSeparator().length();
+
+        for (int position = 0; position < trailerEnd; position++) {
+            for (int mask : new int[]{0x01, 0x20, 0xFF}) {
+                byte[] bytes = original.clone();
+                bytes[position] ^= (byte) mask;
+                Files.write(file.toPath(), bytes);
+                assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file),
+                        "байт " + position + " ^ " + mask);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CSV-снимок, обрезанный до контрольной суммы, отклоняется")
+    void truncatedSnapshotIsRejected() throws IOException {
+        File file = createTempFile();
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+        manager.addNewTask(new Task("Задача", "d", TaskStatus.NEW));
+        manager.addNewEpic(new Epic("Эпик", "d"));
+        byte[] original = Files.readAllBytes(file.toPath());
+        int trailerEnd = original.length - System.lineSeparator().length();
+
+        for (int length = 1; length < trailerEnd; length++) {
+            Files.write(file.toPath(), Arrays.copyOf(original, length));
+            assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(file),
+                    "длина " + length);
+        }
+        Files.write(file.toPath(), Arrays.copyOf(original, trailerEnd));
+        assertEquals(1, FileBackedTaskManager.loadFromFile(file).getTasks().size(),
+                "без последнего перевода строки снимок полон");
+    }
+
+    @Test
+    @DisplayName("снимок без контрольной суммы по-прежнему загружается")
+    void snapshotWithoutChecksumIsAccepted() throws IOException {
+        File file = createTempFile();
+        Files.writeString(file.toPath(), "id,type,name,status,description,epic,duration,startTime\n"
+                + "1,TASK,T,NEW,d,,,\n");
+
+        assertEquals(1, FileBackedTaskManager.loadFromFile(file).getTasks().size());
+    }
+
+    @Test
+    @DisplayName("сохранение не оставляет временных файлов")
+    void saveLeavesNoTemporaryFiles() throws IOException {
+        File dir = Files.createTempDirectory("tm_atomic").toFile();
+        dir.deleteOnExit();
+        File file = new File(dir, "tasks.csv");
+        file.deleteOnExit();
+
+        FileBackedTaskManager manager = new FileBackedTaskManager(file);
+        manager.addNewTask(new Task("T1", "d", TaskStatus.NEW));
+        manager.addNewTask(new Task("T2", "d", TaskStatus.NEW));
+
+        assertArrayEquals(new String[]{"tasks.csv"}, dir.list());
+        assertEquals(2, FileBackedTaskManager.loadFromFile(file).getTasks().size());
+    }
+
+    @Test
+    @DisplayName("пакет сохраняется в файл одной записью")
+    void batchIsSavedOnce() throws IOException {
+        File file = createTempFile();
+        int[] saves = new int[1];
+        FileBackedTaskManager manager = new FileBackedTaskManager(file) {
+            @Override
+            protected void save() {
+                saves[0]++;
+                super.save();
+            }
+        };
+
+        manager.addAll(List.of(new Task("T1", "d", TaskStatus.NEW), new Task("T2", "d", TaskStatus.NEW),
+                new Task("T3", "d", TaskStatus.NEW)));
+
+        assertEquals(1, saves[0]);
+        assertEquals(3, FileBackedTaskManager.loadFromFile(file).getTasks().size());
+    }
+
     public static void main(String[] args) {
         File storageFile = new File("tasks.csv");
 
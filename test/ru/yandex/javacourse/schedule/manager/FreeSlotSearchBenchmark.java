@@ -0,0 +1,52 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Latency of {@link TaskManager#findFreeSlot} on a board of 100k timed tasks: 30-minute tasks packed
+ * back to back with a 45-minute gap after every 50 tasks, queried for an hour-long slot from random points.
+ */
+public class FreeSlotSearchBenchmark {
+
+    private static final int TASKS = 100_000;
+    private static final int QUERIES = 100_000;
+
+    public static void main(String[] args) {
+        InMemoryTaskManager manager = new InMemoryTaskManager();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Task> board = new ArrayList<>(TASKS);
+        LocalDateTime cursor = base;
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("T" + i, "d", TaskStatus.NEW);
+            task.setStartTime(cursor);
+            task.setDuration(Duration.ofMinutes(30));
+            board.add(task);
+            cursor = cursor.plusMinutes(i % 50 == 49 ? 75 : 30);
+        }
+        manager.addAll(board);
+        long spanMinutes = Duration.between(base, cursor).toMinutes();
+
+        Random random = new Random(3);
+        Duration wanted = Duration.ofMinutes(45);
+        Duration probe = Duration.ofHours(1);
+        long found = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                LocalDateTime from = base.plusMinutes(random.nextLong(spanMinutes));
+                found += manager.findFreeSlot(wanted, from, from.plusDays(30)).isPresent() ? 1 : 0;
+                found += manager.findFreeSlot(probe, from, from.plusDays(30)).isPresent() ? 1 : 0;
+            }
+            double micros = (System.nanoTime() - start) / 1e3 / (QUERIES * 2);
+            System.out.printf("round %d: %.2f us / query%n", round, micros);
+        }
+        System.out.println("(" + found + " found)");
+    }
+}
@@ -0,0 +1,73 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Views recorded per second by {@link InMemoryHistoryManager} behind a global lock and by
+ * {@link ConcurrentHistoryManager}, for a growing number of threads viewing random tasks out of 10 000.
+ */
+public class HistoryManagerBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final long RUN_NANOS = Duration.ofSeconds(2).toNanos();
+
+    public static void main(String[] args) throws InterruptedException {
+        Task[] tasks = new Task[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            tasks[i] = new Task(i + 1, "T" + i, "d", TaskStatus.NEW);
+        }
+        System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %20s %20s%n", "threads", "global lock views/s", "concurrent views/s");
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            HistoryManager plain = new InMemoryHistoryManager();
+            Object monitor = new Object();
+            long global = run(threads, task -> {
+                synchronized (monitor) {
+                    plain.add(task);
+                }
+            }, tasks);
+            HistoryManager concurrent = new ConcurrentHistoryManager();
+            long lockFree = run(threads, concurrent::add, tasks);
+            System.out.printf("%8d %20d %20d%n", threads, global, lockFree);
+        }
+    }
+
+    private static long run(int threads, Consumer<Task> view, Task[] tasks) throws InterruptedException {
+        AtomicLong views = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.nanoTime() + RUN_NANOS;
+                while (System.nanoTime() < deadline) {
+                    view.accept(tasks[random.nextInt(tasks.length)]);
+                    done++;
+                }
+                views.addAndGet(done);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return views.get() * 1_000_000_000L / RUN_NANOS;
+    }
+}
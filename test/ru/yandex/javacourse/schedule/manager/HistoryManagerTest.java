@@ -11,7 +11,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class HistoryManagerTest {
 
-    private HistoryManager createHistory() {
+    protected HistoryManager createHistory() {
         return Managers.getDefaultHistory();
     }
 
@@ -78,5 +78,19 @@ public class HistoryManagerTest {
 
         assertEquals(List.of(1, 2), history.getHistory().stream().map(Task::getId).toList());
     }
-}
 
+    @Test
+    @DisplayName("просмотр по id хранит только id и не попадает в список задач")
+    void viewsById_keepIdsOnly() {
+        HistoryManager history = createHistory();
+
+        history.add(new Task(1, "T1", "d", TaskStatus.NEW));
+        history.add(2);
+        history.add(1);
+        history.add(3);
+        history.remove(3);
+
+        assertArrayEquals(new int[]{2, 1}, history.getHistoryIds());
+        assertTrue(history.getHistory().isEmpty(), "после просмотра по id ссылка на задачу не хранится");
+    }
+}
@@ -0,0 +1,50 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+/**
+ * Cost of reading a page of 100 tasks after an id cursor on a board of a million task ids, most of which
+ * have been deleted: the "what changed since id N" query of a client syncing incrementally.
+ */
+public class IdCursorBenchmark {
+
+    private static final int TASKS = 1_000_000;
+    private static final int KEPT_EVERY = 100;
+    private static final int PAGE = 100;
+    private static final int RUNS = 200;
+
+    public static void main(String[] args) {
+        InMemoryTaskManager manager = new InMemoryTaskManager(Managers.getDefaultHistory());
+        for (int i = 0; i < TASKS; i++) {
+            manager.addNewTask(new Task("T" + i, "d", TaskStatus.NEW));
+        }
+        for (int id = 1; id <= TASKS; id++) {
+            if (id % KEPT_EVERY != 0) {
+                manager.deleteTask(id);
+            }
+        }
+        System.out.printf("%d tasks left of %d ids%n", manager.count(TaskType.TASK), TASKS);
+
+        System.out.printf("%-12s %10s %12s%n", "after id", "page size", "µs / page");
+        for (int cursor : new int[]{0, TASKS / 2, TASKS - PAGE * KEPT_EVERY}) {
+            int size = manager.getTasks(cursor, PAGE).size();
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long t = System.nanoTime();
+                manager.getTasks(cursor, PAGE);
+                best = Math.min(best, System.nanoTime() - t);
+            }
+            System.out.printf("%-12d %10d %12.1f%n", cursor, size, best / 1e3);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 20; run++) {
+            long t = System.nanoTime();
+            manager.getTasks();
+            best = Math.min(best, System.nanoTime() - t);
+        }
+        System.out.printf("getTasks() of %d in id order: %.1f ms%n", TASKS / KEPT_EVERY, best / 1e6);
+    }
+}
@@ -1,75 +1,141 @@
-package ru.yandex.javacourse.schedule.manager;
-
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-import ru.yandex.javacourse.schedule.tasks.Task;
-import ru.yandex.javacourse.schedule.tasks.TaskStatus;
-
-import java.util.List;
-
-import static org.junit.jupiter.api.Assertions.*;
-
-public class InMemoryHistoryManagerTest {
-
-    private HistoryManager historyManager;
-
-    @BeforeEach
-    public void initHistoryManager() {
-        historyManager = Managers.getDefaultHistory();
-    }
-
-    @Test
-    public void testAddTaskAddsToHistory() {
-        Task task = new Task(1, "Test 1", "Testing task 1", TaskStatus.NEW);
-        historyManager.add(task);
-
-        List<Task> history = historyManager.getHistory();
-        assertEquals(1, history.size(), "Задача должна быть добавлена в историю");
-        assertEquals(task, history.get(0), "Добавленная задача должна присутствовать в истории");
-    }
-
-    @Test
-    public void testAddSameTaskTwiceShouldNotDuplicateButMoveToEnd() {
-        Task task1 = new Task(1, "Task 1", "desc", TaskStatus.NEW);
-        Task task2 = new Task(2, "Task 2", "desc", TaskStatus.NEW);
-
-        historyManager.add(task1);
-        historyManager.add(task2);
-        historyManager.add(task1);
-
-        List<Task> history = historyManager.getHistory();
-        assertEquals(2, history.size(), "История не должна содержать дубликаты");
-        assertEquals(2, history.get(0).getId(), "Первая задача в истории должна быть 2");
-        assertEquals(1, history.get(1).getId(), "Повторно добавленная задача должна быть перемещена в конец");
-    }
-
-    @Test
-    public void testRemoveTaskRemovesFromHistory() {
-        Task t1 = new Task(1, "Task 1", "desc", TaskStatus.NEW);
-        Task t2 = new Task(2, "Task 2", "desc", TaskStatus.NEW);
-
-        historyManager.add(t1);
-        historyManager.add(t2);
-        assertEquals(2, historyManager.getHistory().size(), "История должна содержать 2 задачи");
-
-        historyManager.remove(1);
-
-        List<Task> history = historyManager.getHistory();
-        assertEquals(1, history.size(), "После удаления должна остаться одна запись");
-        assertEquals(2, history.get(0).getId(), "В истории должна остаться только задача с id=2");
-    }
-
-    @Test
-    public void testRemoveNonExistingTaskDoesNothing() {
-        Task t = new Task(1, "Task 1", "desc", TaskStatus.NEW);
-        historyManager.add(t);
-
-        assertDoesNotThrow(() -> historyManager.remove(999), "Удаление несуществующего id не должно вызывать ошибок");
-        assertEquals(1, historyManager.getHistory().size(), "Размер истории не должен измениться");
-    }
-
-    @Test
-    public void testEmptyHistoryInitially() {
-        assertTrue(historyManager.getHistory().isEmpty(), "История должна быть пустой при инициализации");
-    }
-}
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryHistoryManagerTest {
+
+    private HistoryManager historyManager;
+
+    @BeforeEach
+    public void initHistoryManager() {
+        historyManager = Managers.getDefaultHistory();
+    }
+
+    @Test
+    public void testAddTaskAddsToHistory() {
+        Task task = new Task(1, "Test 1", "Testing task 1", TaskStatus.NEW);
+        historyManager.add(task);
+
+        List<Task> history = historyManager.getHistory();
+        assertEquals(1, history.size(), "Задача должна быть добавлена в историю");
+        assertEquals(task, history.get(0), "Добавленная задача должна присутствовать в истории");
+    }
+
+    @Test
+    public void testAddSameTaskTwiceShouldNotDuplicateButMoveToEnd() {
+        Task task1 = new Task(1, "Task 1", "desc", TaskStatus.NEW);
+        Task task2 = new Task(2, "Task 2", "desc", TaskStatus.NEW);
+
+        historyManager.add(task1);
+        historyManager.add(task2);
+        historyManager.add(task1);
+
+        List<Task> history = historyManager.getHistory();
+        assertEquals(2, history.size(), "История не должна содержать дубликаты");
+        assertEquals(2, history.get(0).getId(), "Первая задача в истории должна быть 2");
+        assertEquals(1, history.get(1).getId(), "Повторно добавленная задача должна быть перемещена в конец");
+    }
+
+    @Test
+    public void testRemoveTaskRemovesFromHistory() {
+        Task t1 = new Task(1, "Task 1", "desc", TaskStatus.NEW);
+        Task t2 = new Task(2, "Task 2", "desc", TaskStatus.NEW);
+
+        historyManager.add(t1);
+        historyManager.add(t2);
+        assertEquals(2, historyManager.getHistory().size(), "История должна содержать 2 задачи");
+
+        historyManager.remove(1);
+
+        List<Task> history = historyManager.getHistory();
+        assertEquals(1, history.size(), "После удаления должна остаться одна запись");
+        assertEquals(2, history.get(0).getId(), "В истории должна остаться только задача с id=2");
+    }
+
+    @Test
+    public void testRemoveNonExistingTaskDoesNothing() {
+        Task t = new Task(1, "Task 1", "desc", TaskStatus.NEW);
+        historyManager.add(t);
+
+        assertDoesNotThrow(() -> historyManager.remove(999), "Удаление несуществующего id не должно вызывать ошибок");
+        assertEquals(1, historyManager.getHistory().size(), "Размер истории не должен измениться");
+    }
+
+    @Test
+    public void testEmptyHistoryInitially() {
+        assertTrue(historyManager.getHistory().isEmpty(), "История должна быть пустой при инициализации");
+    }
+
+    @Test
+    public void testSizeCapEvictsLeastRecentlyViewed() {
+        HistoryManager capped = Managers.getDefaultHistory(3);
+        for (int id = 1; id <= 4; id++) {
+            capped.add(new Task(id, "T" + id, "d", TaskStatus.NEW));
+        }
+        capped.add(new Task(2, "T2", "d", TaskStatus.NEW));
+        capped.add(new Task(5, "T5", "d", TaskStatus.NEW));
+
+        assertEquals(List.of(4, 2, 5), capped.getHistory().stream().map(Task::getId).toList(),
+                "при переполнении вытесняется давно не просмотренная задача");
+    }
+
+    @Test
+    public void testAgeCapDropsStaleViews() {
+        MutableClock clock = new MutableClock();
+        HistoryManager aged = new InMemoryHistoryManager(10, Duration.ofMinutes(30), clock);
+
+        aged.add(new Task(1, "T1", "d", TaskStatus.NEW));
+        clock.advance(Duration.ofMinutes(20));
+        aged.add(new Task(2, "T2", "d", TaskStatus.NEW));
+        clock.advance(Duration.ofMinutes(20));
+
+        assertEquals(List.of(2), aged.getHistory().stream().map(Task::getId).toList(),
+                "просмотры старше ограничения не должны оставаться в истории");
+
+        aged.add(new Task(2, "T2", "d", TaskStatus.NEW));
+        clock.advance(Duration.ofMinutes(25));
+        assertEquals(List.of(2), aged.getHistory().stream().map(Task::getId).toList(),
+                "повторный просмотр продлевает жизнь записи");
+    }
+
+    @Test
+    public void testInvalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Managers.getDefaultHistory(0));
+        assertThrows(IllegalArgumentException.class, () -> Managers.getDefaultHistory(5, Duration.ZERO));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,11 +2,17 @@ package ru.yandex.javacourse.schedule.manager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.exceptions.TaskIntersectionException;
 import ru.yandex.javacourse.schedule.tasks.Task;
 import ru.yandex.javacourse.schedule.tasks.TaskStatus;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -66,5 +72,112 @@ public class InMemoryTaskManagerOverlapTest {
 
         assertDoesNotThrow(() -> manager.addNewTask(t2));
     }
-}
 
+    @Test
+    public void shouldDetectOverlapsOutsideOfSingleYear() {
+        Task past = new Task("Past", "desc", TaskStatus.NEW);
+        past.setStartTime(LocalDateTime.of(1999, 12, 31, 23, 30));
+        past.setDuration(Duration.ofMinutes(60));
+        Task future = new Task("Future", "desc", TaskStatus.NEW);
+        future.setStartTime(LocalDateTime.of(2150, 6, 1, 9, 0));
+        future.setDuration(Duration.ofDays(400));
+
+        manager.addNewTask(past);
+        manager.addNewTask(future);
+
+        Task overlapsPast = new Task("T", "desc", TaskStatus.NEW);
+        overlapsPast.setStartTime(LocalDateTime.of(2000, 1, 1, 0, 15));
+        overlapsPast.setDuration(Duration.ofMinutes(10));
+        assertThrows(RuntimeException.class, () -> manager.addNewTask(overlapsPast));
+
+        Task insideFuture = new Task("T", "desc", TaskStatus.NEW);
+        insideFuture.setStartTime(LocalDateTime.of(2151, 3, 1, 12, 0));
+        insideFuture.setDuration(Duration.ofMinutes(10));
+        assertThrows(RuntimeException.class, () -> manager.addNewTask(insideFuture));
+
+        Task between = new Task("T", "desc", TaskStatus.NEW);
+        between.setStartTime(LocalDateTime.of(2000, 1, 1, 0, 30));
+        between.setDuration(Duration.ofMinutes(10));
+        assertDoesNotThrow(() -> manager.addNewTask(between));
+    }
+
+    @Test
+    public void shouldNotConflictWithItselfOnUpdate() {
+        Task t1 = new Task("T1", "desc", TaskStatus.NEW);
+        t1.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        t1.setDuration(Duration.ofMinutes(30));
+        int id = manager.addNewTask(t1);
+
+        Task moved = new Task(id, "T1", "desc", TaskStatus.IN_PROGRESS);
+        moved.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 15));
+        moved.setDuration(Duration.ofMinutes(30));
+
+        assertDoesNotThrow(() -> manager.updateTask(moved));
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 15), manager.getTask(id).orElseThrow().getStartTime());
+    }
+
+    @Test
+    public void shouldReportAllConflictsWithOverlapSpans() {
+        Task t1 = new Task("T1", "desc", TaskStatus.NEW);
+        t1.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        t1.setDuration(Duration.ofMinutes(30));
+        Task t2 = new Task("T2", "desc", TaskStatus.NEW);
+        t2.setStartTime(LocalDateTime.of(2025, 1, 1, 11, 0));
+        t2.setDuration(Duration.ofMinutes(30));
+        int id1 = manager.addNewTask(t1);
+        int id2 = manager.addNewTask(t2);
+
+        Task candidate = new Task("C", "desc", TaskStatus.NEW);
+        candidate.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 15));
+        candidate.setDuration(Duration.ofMinutes(60));
+
+        List<TimeConflict> expected = List.of(
+                new TimeConflict(id1, LocalDateTime.of(2025, 1, 1, 10, 15), LocalDateTime.of(2025, 1, 1, 10, 30)),
+                new TimeConflict(id2, LocalDateTime.of(2025, 1, 1, 11, 0), LocalDateTime.of(2025, 1, 1, 11, 15)));
+        assertEquals(expected, manager.findConflicts(candidate));
+
+        TaskIntersectionException ex = assertThrows(TaskIntersectionException.class,
+                () -> manager.addNewTask(candidate));
+        assertEquals(expected, ex.getConflicts());
+        assertTrue(ex.getMessage().contains("пересекается"));
+        assertTrue(ex.getMessage().contains("id=" + id2));
+    }
+
+    @Test
+    public void shouldSerializeIntersectionExceptionWithConflicts() throws Exception {
+        List<TimeConflict> conflicts = List.of(
+                new TimeConflict(7, LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 1, 10, 30)));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new TaskIntersectionException(3, conflicts));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            TaskIntersectionException copy = (TaskIntersectionException) in.readObject();
+            assertEquals(3, copy.getTaskId());
+            assertEquals(conflicts, copy.getConflicts());
+        }
+    }
+
+    @Test
+    public void shouldFindFreeSlotsBetweenTasks() {
+        LocalDateTime day = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int hour : new int[]{9, 10, 13}) {
+            Task task = new Task("T" + hour, "desc", TaskStatus.NEW);
+            task.setStartTime(day.withHour(hour));
+            task.setDuration(Duration.ofMinutes(hour == 10 ? 90 : 60));
+            manager.addNewTask(task);
+        }
+
+        assertEquals(new TimeSlot(day.withHour(8), day.withHour(9)),
+                manager.findFreeSlot(Duration.ofMinutes(30), day.withHour(8), day.withHour(18)).orElseThrow());
+        assertEquals(new TimeSlot(day.withHour(11).withMinute(30), day.withHour(13)),
+                manager.findFreeSlot(Duration.ofMinutes(90), day.withHour(8), day.withHour(18)).orElseThrow());
+        assertEquals(List.of(
+                        new TimeSlot(day.withHour(11).withMinute(30), day.withHour(13)),
+                        new TimeSlot(day.withHour(14), day.withHour(18))),
+                manager.findFreeSlots(Duration.ofHours(1), day.withHour(9).withMinute(30), day.withHour(18)));
+        assertTrue(manager.findFreeSlot(Duration.ofHours(5), day.withHour(8), day.withHour(18)).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.findFreeSlot(Duration.ZERO, day.withHour(8), day.withHour(18)));
+    }
+}
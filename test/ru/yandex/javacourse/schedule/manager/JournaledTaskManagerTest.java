@@ -0,0 +1,137 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournaledTaskManagerTest extends TaskManagerTest<TaskManager> {
+
+    private File createTempFile() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.deleteOnExit();
+        JournaledTaskManager.journalFileFor(file).deleteOnExit();
+        return file;
+    }
+
+    @Override
+    protected TaskManager createManager() {
+        try {
+            return new JournaledTaskManager(createTempFile());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("мутация дописывает одну запись в журнал и не переписывает снимок")
+    void mutationAppendsSingleRecord() throws IOException {
+        File file = createTempFile();
+        JournaledTaskManager manager = new JournaledTaskManager(file);
+
+        manager.addNewTask(new Task("T1", "d", TaskStatus.NEW));
+        manager.addNewTask(new Task("T2", "d", TaskStatus.NEW));
+
+        assertEquals(0, file.length(), "снимок не должен переписываться на каждую мутацию");
+        assertEquals(2, Files.readAllLines(manager.getJournalFile().toPath()).size());
+    }
+
+    @Test
+    @DisplayName("загрузка воспроизводит журнал поверх снимка")
+    void loadReplaysJournal() throws IOException {
+        File file = createTempFile();
+        JournaledTaskManager manager = new JournaledTaskManager(file);
+
+        int taskId = manager.addNewTask(new Task("T", "d", TaskStatus.NEW));
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        Subtask subtask = new Subtask("S", "d", TaskStatus.NEW, epicId);
+        subtask.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        subtask.setDuration(Duration.ofMinutes(30));
+        int subtaskId = manager.addNewSubtask(subtask);
+        manager.compact();
+
+        Subtask done = new Subtask(subtaskId, "S", "d", TaskStatus.DONE, epicId);
+        manager.updateSubtask(done);
+        manager.deleteTask(taskId);
+
+        JournaledTaskManager loaded = JournaledTaskManager.loadFromFile(file);
+
+        assertTrue(loaded.getTask(taskId).isEmpty(), "удаление из журнала должно примениться");
+        assertEquals(TaskStatus.DONE, loaded.getSubtask(subtaskId).orElseThrow().getStatus());
+        assertEquals(TaskStatus.DONE, loaded.getEpic(epicId).orElseThrow().getStatus());
+        assertTrue(loaded.getPrioritizedTasks().isEmpty(), "обновлённая подзадача без времени не попадает в prioritized");
+    }
+
+    @Test
+    @DisplayName("компактизация переписывает снимок и очищает журнал")
+    void compactionTruncatesJournal() throws IOException {
+        File file = createTempFile();
+        JournaledTaskManager manager = new JournaledTaskManager(file, 3);
+
+        manager.addNewTask(new Task("T1", "d", TaskStatus.NEW));
+        manager.addNewTask(new Task("T2", "d", TaskStatus.NEW));
+        manager.addNewTask(new Task("T3", "d", TaskStatus.NEW));
+
+        assertFalse(manager.getJournalFile().exists(), "после компактизации журнал должен быть пуст");
+        assertEquals(3, JournaledTaskManager.loadFromFile(file).getTasks().size());
+    }
+
+    @Test
+    @DisplayName("недописанная последняя запись журнала игнорируется")
+    void tornTailRecordIsIgnored() throws IOException {
+        File file = createTempFile();
+        JournaledTaskManager manager = new JournaledTaskManager(file);
+        int id = manager.addNewTask(new Task("T1", "d", TaskStatus.NEW));
+
+        Files.writeString(manager.getJournalFile().toPath(), "U,2,TA", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        JournaledTaskManager loaded = JournaledTaskManager.loadFromFile(file);
+        assertEquals(1, loaded.getTasks().size());
+        assertTrue(loaded.getTask(id).isPresent());
+    }
+
+    @Test
+    @DisplayName("пакет пишется в журнал одной записью и воспроизводится при загрузке")
+    void batchIsJournaledAndReplayed() throws IOException {
+        File file = createTempFile();
+        JournaledTaskManager manager = new JournaledTaskManager(file);
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+
+        List<Integer> ids = manager.addAll(List.of(
+                new Subtask("S1", "d", TaskStatus.DONE, epicId),
+                new Subtask("S2", "d", TaskStatus.DONE, epicId)));
+
+        assertEquals(4, Files.readAllLines(manager.getJournalFile().toPath()).size());
+        JournaledTaskManager loaded = JournaledTaskManager.loadFromFile(file);
+        assertEquals(ids, loaded.getEpic(epicId).orElseThrow().getSubtaskIds());
+        assertEquals(TaskStatus.DONE, loaded.getEpic(epicId).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("недописанный пакет в конце журнала игнорируется целиком")
+    void tornBatchIsIgnored() throws IOException {
+        File file = createTempFile();
+        JournaledTaskManager manager = new JournaledTaskManager(file);
+        manager.addNewTask(new Task("T1", "d", TaskStatus.NEW));
+
+        Files.writeString(manager.getJournalFile().toPath(),
+                "B,2" + System.lineSeparator() + "U,2,TASK,T2,NEW,d,,," + System.lineSeparator(),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertEquals(1, JournaledTaskManager.loadFromFile(file).getTasks().size());
+    }
+}
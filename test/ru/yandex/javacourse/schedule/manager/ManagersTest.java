@@ -1,36 +1,66 @@
-package ru.yandex.javacourse.schedule.manager;
-
-import org.junit.jupiter.api.Test;
-
-import static org.junit.jupiter.api.Assertions.*;
-
-public class ManagersTest {
-
-    @Test
-    public void testDefaultManagersNotNull() {
-        TaskManager taskManager = Managers.getDefault();
-        HistoryManager historyManager = Managers.getDefaultHistory();
-
-        assertNotNull(taskManager, "Managers.getDefault() должен возвращать не null");
-        assertNotNull(historyManager, "Managers.getDefaultHistory() должен возвращать не null");
-    }
-
-    @Test
-    public void testDefaultManagersReturnCorrectTypes() {
-        TaskManager tm = Managers.getDefault();
-        HistoryManager hm = Managers.getDefaultHistory();
-
-        assertTrue(tm instanceof InMemoryTaskManager,
-                "Managers.getDefault() должен возвращать InMemoryTaskManager");
-        assertTrue(hm instanceof InMemoryHistoryManager,
-                "Managers.getDefaultHistory() должен возвращать InMemoryHistoryManager");
-    }
-
-    @Test
-    public void testDefaultManagersReturnNewInstances() {
-        TaskManager tm1 = Managers.getDefault();
-        TaskManager tm2 = Managers.getDefault();
-
-        assertNotSame(tm1, tm2, "Каждый вызов Managers.getDefault() должен возвращать новый экземпляр TaskManager");
-    }
-}
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ManagersTest {
+
+    @Test
+    public void testDefaultManagersNotNull() {
+        TaskManager taskManager = Managers.getDefault();
+        HistoryManager historyManager = Managers.getDefaultHistory();
+
+        assertNotNull(taskManager, "Managers.getDefault() должен возвращать не null");
+        assertNotNull(historyManager, "Managers.getDefaultHistory() должен возвращать не null");
+    }
+
+    @Test
+    public void testDefaultManagersReturnCorrectTypes() {
+        TaskManager tm = Managers.getDefault();
+        HistoryManager hm = Managers.getDefaultHistory();
+
+        assertTrue(tm instanceof InMemoryTaskManager,
+                "Managers.getDefault() должен возвращать InMemoryTaskManager");
+        assertTrue(hm instanceof InMemoryHistoryManager,
+                "Managers.getDefaultHistory() должен возвращать InMemoryHistoryManager");
+    }
+
+    @Test
+    public void testDefaultManagersReturnNewInstances() {
+        TaskManager tm1 = Managers.getDefault();
+        TaskManager tm2 = Managers.getDefault();
+
+        assertNotSame(tm1, tm2, "Каждый вызов Managers.getDefault() должен возвращать новый экземпляр TaskManager");
+    }
+
+    @Test
+    public void testConcurrentManagerIsSelectable() {
+        TaskManager tm = Managers.getConcurrent();
+
+        assertTrue(tm instanceof ConcurrentTaskManager,
+                "Managers.getConcurrent() должен возвращать ConcurrentTaskManager");
+        assertNotSame(tm, Managers.getConcurrent());
+    }
+
+    @Test
+    public void testManagersWithBoundedHistoryEvictOldestViews() {
+        for (TaskManager tm : List.of(Managers.getDefault(Managers.getDefaultHistory(2)),
+                Managers.getConcurrent(Managers.getConcurrentHistory(2, Duration.ofDays(1))))) {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                ids.add(tm.addNewTask(new Task("T" + i, "d", TaskStatus.NEW)));
+            }
+            ids.forEach(tm::getTask);
+
+            assertEquals(ids.subList(3, 5), tm.getHistory().stream().map(Task::getId).toList(),
+                    "история менеджера ограничена переданным размером");
+        }
+    }
+}
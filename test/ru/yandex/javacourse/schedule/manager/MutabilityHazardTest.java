@@ -5,7 +5,11 @@ import org.junit.jupiter.api.Test;
 import ru.yandex.javacourse.schedule.tasks.Epic;
 import ru.yandex.javacourse.schedule.tasks.Subtask;
 import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
 import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,4 +71,52 @@ public class MutabilityHazardTest {
         assertTrue(manager.getEpic(e2).orElseThrow().getSubtaskIds().contains(s), "в новый эпик id должен быть добавлен");
     }
 
+    @Test
+    void snapshotsAreSharedAndSurviveUpdates() {
+        int id = manager.addNewTask(new Task("A", "desc", TaskStatus.NEW));
+
+        TaskSnapshot first = manager.getSnapshot(id).orElseThrow();
+        assertSame(first, manager.getSnapshot(id).orElseThrow(), "без изменений читатели получают один и тот же снимок");
+        assertSame(first, manager.getSnapshots(TaskType.TASK).getFirst());
+
+        Task edited = first.toTask();
+        edited.setName("B");
+        manager.updateTask(edited);
+
+        assertEquals("A", first.name(), "выданный снимок не меняется после обновления");
+        assertEquals("B", manager.getSnapshot(id).orElseThrow().name());
+    }
+
+    @Test
+    void epicSnapshotFollowsSubtasksAndCannotBeModified() {
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        TaskSnapshot empty = manager.getSnapshot(epicId).orElseThrow();
+
+        Integer s = manager.addNewSubtask(new Subtask("S", "d", TaskStatus.DONE, epicId));
+        TaskSnapshot filled = manager.getSnapshot(epicId).orElseThrow();
+
+        assertEquals(TaskStatus.NEW, empty.status());
+        assertEquals(TaskStatus.DONE, filled.status());
+        assertEquals(epicId, manager.getSnapshot(s).orElseThrow().epicId());
+        assertEquals(List.of(s), manager.getSnapshots(TaskType.SUBTASK).stream().map(TaskSnapshot::id).toList());
+
+        manager.deleteEpic(epicId);
+
+        assertTrue(manager.getSnapshot(epicId).isEmpty());
+        assertTrue(manager.getSnapshot(s).isEmpty());
+        assertTrue(manager.getHistorySnapshots().isEmpty(), "удалённые сущности исчезают и из истории");
+    }
+
+    @Test
+    void epicFromHistoryKeepsItsSubtasks() {
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        Integer s = manager.addNewSubtask(new Subtask("S", "d", TaskStatus.NEW, epicId));
+        manager.getEpic(epicId);
+
+        Epic viewed = (Epic) manager.getHistory().getFirst();
+
+        assertEquals(List.of(s), viewed.getSubtaskIds(), "эпик из истории знает свои подзадачи");
+        assertTrue(((Epic) manager.getSnapshot(epicId).orElseThrow().toTask()).getSubtaskIds().isEmpty(),
+                "подзадачи не входят в снимок эпика");
+    }
 }
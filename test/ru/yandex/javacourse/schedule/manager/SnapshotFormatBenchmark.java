@@ -0,0 +1,65 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Epic;
+import ru.yandex.javacourse.schedule.tasks.Subtask;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Compares size, decoding time and full load time (decoding plus index rebuild) of the CSV and binary
+ * snapshots of the same board.
+ */
+public class SnapshotFormatBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        File csv = File.createTempFile("format-bench", ".csv");
+        File binary = File.createTempFile("format-bench", ".bin");
+        csv.deleteOnExit();
+        binary.deleteOnExit();
+
+        FileBackedTaskManager board = new FileBackedTaskManager(csv);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        int epicId = 0;
+        for (int i = 1; i <= ROWS; i++) {
+            Task row;
+            if (i % 2 == 0) {
+                row = new Task(i, "Задача " + (i % 100), "Описание задачи", TaskStatus.NEW);
+            } else if (i % 21 == 1) {
+                row = new Epic(i, "Эпик " + i, "Описание эпика");
+                epicId = i;
+            } else {
+                row = new Subtask(i, "Подзадача", "Описание подзадачи", TaskStatus.DONE, epicId);
+            }
+            if (!(row instanceof Epic)) {
+                row.setStartTime(base.plusMinutes(i * 10L));
+                row.setDuration(Duration.ofMinutes(5));
+            }
+            board.restoreEntity(row);
+        }
+        board.rebuildIndexes();
+        board.save();
+        FileBackedTaskManager.convert(csv, binary, SnapshotFormat.BINARY);
+
+        System.out.printf("%8s %12s %12s %12s%n", "format", "bytes", "parse ms", "load ms");
+        for (File file : new File[]{csv, binary}) {
+            long best = Long.MAX_VALUE;
+            long bestParse = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file);
+                best = Math.min(best, System.nanoTime() - start);
+                bestParse = Math.min(bestParse, loaded.getLoadStatistics().elapsedNanos());
+            }
+            System.out.printf("%8s %12d %12.1f %12.1f%n", SnapshotFormat.detect(file.toPath()), file.length(),
+                    bestParse / 1e6, best / 1e6);
+        }
+    }
+}
@@ -6,12 +6,18 @@ import ru.yandex.javacourse.schedule.exceptions.ManagerValidateException;
 import ru.yandex.javacourse.schedule.tasks.Epic;
 import ru.yandex.javacourse.schedule.tasks.Subtask;
 import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
 import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -167,5 +173,555 @@ public abstract class TaskManagerTest<T extends TaskManager> {
 
         assertDoesNotThrow(() -> manager.addNewTask(t2));
     }
-}
 
+    @Test
+    @DisplayName("addAll: пакет с эпиком и подзадачами добавляется целиком")
+    void addAll_addsEpicWithSubtasks() {
+        TaskManager manager = createManager();
+
+        Epic epic = new Epic(-1, "E", "d");
+        Subtask first = new Subtask("S1", "d", TaskStatus.DONE, -1);
+        first.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        first.setDuration(Duration.ofMinutes(30));
+        Subtask second = new Subtask("S2", "d", TaskStatus.NEW, -1);
+        second.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 30));
+        second.setDuration(Duration.ofMinutes(30));
+        Task task = new Task("T", "d", TaskStatus.NEW);
+
+        List<Integer> ids = manager.addAll(List.of(epic, first, second, task));
+
+        assertEquals(4, ids.size());
+        int epicId = ids.get(0);
+        assertEquals(List.of(ids.get(1), ids.get(2)), manager.getEpic(epicId).orElseThrow().getSubtaskIds());
+        assertEquals(TaskStatus.IN_PROGRESS, manager.getEpic(epicId).orElseThrow().getStatus());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 11, 0), manager.getEpic(epicId).orElseThrow().getEndTime());
+        assertEquals(2, manager.getPrioritizedTasks().size());
+        assertTrue(manager.getTask(ids.get(3)).isPresent());
+    }
+
+    @Test
+    @DisplayName("addAll: подзадачи попадают в ближайший предшествующий эпик без id")
+    void addAll_linksSubtasksToNearestEpicWithoutId() {
+        TaskManager manager = createManager();
+
+        List<Integer> ids = manager.addAll(List.of(
+                new Epic("E1", "d"), new Subtask("S1", "d", TaskStatus.DONE, 0),
+                new Epic("E2", "d"), new Subtask("S2", "d", TaskStatus.NEW, 0),
+                new Subtask("S3", "d", TaskStatus.NEW, 0)));
+
+        assertEquals(List.of(ids.get(1)), manager.getEpic(ids.get(0)).orElseThrow().getSubtaskIds());
+        assertEquals(List.of(ids.get(3), ids.get(4)), manager.getEpic(ids.get(2)).orElseThrow().getSubtaskIds());
+        assertEquals(TaskStatus.DONE, manager.getEpic(ids.get(0)).orElseThrow().getStatus());
+        assertEquals(TaskStatus.NEW, manager.getEpic(ids.get(2)).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("addAll: id эпика пакета не перехватывает подзадачи сохранённого эпика")
+    void addAll_storedEpicWinsOverPlaceholderId() {
+        TaskManager manager = createManager();
+        int storedId = manager.addNewEpic(new Epic("Stored", "d"));
+
+        List<Integer> ids = manager.addAll(List.of(
+                new Epic(storedId, "New", "d"), new Subtask("S", "d", TaskStatus.NEW, storedId)));
+
+        assertEquals(List.of(ids.get(1)), manager.getEpic(storedId).orElseThrow().getSubtaskIds());
+        assertTrue(manager.getEpic(ids.get(0)).orElseThrow().getSubtaskIds().isEmpty());
+        assertEquals(storedId, manager.getSubtask(ids.get(1)).orElseThrow().getEpicId());
+    }
+
+    @Test
+    @DisplayName("addAll: пересечение внутри пакета отменяет весь пакет")
+    void addAll_isAllOrNothing() {
+        TaskManager manager = createManager();
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+
+        Subtask first = new Subtask("S1", "d", TaskStatus.NEW, epicId);
+        first.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        first.setDuration(Duration.ofMinutes(30));
+        Subtask overlapping = new Subtask("S2", "d", TaskStatus.NEW, epicId);
+        overlapping.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 15));
+        overlapping.setDuration(Duration.ofMinutes(30));
+
+        assertThrows(ManagerValidateException.class, () -> manager.addAll(List.of(first, overlapping)));
+        assertThrows(ManagerValidateException.class,
+                () -> manager.addAll(List.of(new Task("T", "d", TaskStatus.NEW),
+                        new Subtask("S", "d", TaskStatus.NEW, 999))));
+
+        assertTrue(manager.getSubtasks().isEmpty());
+        assertTrue(manager.getTasks().isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+        assertEquals(epicId + 1, manager.addNewSubtask(first), "слоты и id отменённого пакета освобождаются");
+    }
+
+    @Test
+    @DisplayName("задача без статуса отклоняется до изменения хранилищ и индексов")
+    void taskWithoutStatusIsRejected() {
+        TaskManager manager = createManager();
+        int storedId = manager.addNewTask(new Task("Купить молоко", "d", TaskStatus.NEW));
+        long sequence = manager.getLastSequence();
+
+        Task noStatus = new Task("Купить хлеб", "d", null, Duration.ofMinutes(30),
+                LocalDateTime.of(2025, 1, 1, 10, 0));
+        assertThrows(ManagerValidateException.class, () -> manager.addNewTask(noStatus));
+        assertThrows(ManagerValidateException.class, () -> manager.addAll(List.of(noStatus)));
+        assertThrows(ManagerValidateException.class,
+                () -> manager.updateTask(new Task(storedId, "Купить хлеб", "d", null)));
+        Epic epic = new Epic("E", "d");
+        epic.setStatus(null);
+        assertThrows(ManagerValidateException.class, () -> manager.addNewEpic(epic));
+
+        assertEquals(List.of(storedId), manager.getTasks().stream().map(Task::getId).toList());
+        assertEquals("Купить молоко", manager.getTask(storedId).orElseThrow().getName());
+        assertTrue(manager.getEpics().isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+        assertEquals(1, manager.count(TaskType.TASK));
+        assertTrue(manager.search("хлеб", 10).isEmpty());
+        assertEquals(sequence, manager.getLastSequence(), "в ленте изменений нет следов отклонённых задач");
+    }
+
+    @Test
+    @DisplayName("подзадача без статуса отклоняется до изменения хранилищ")
+    void subtaskWithoutStatusIsRejected() {
+        TaskManager manager = createManager();
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        Subtask stored = new Subtask("S", "d", TaskStatus.DONE, epicId);
+        stored.setStartTime(LocalDateTime.of(2025, 1, 1, 9, 0));
+        stored.setDuration(Duration.ofMinutes(30));
+        int storedId = manager.addNewSubtask(stored);
+
+        Subtask noStatus = new Subtask("N", "d", null, epicId);
+        noStatus.setStartTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        noStatus.setDuration(Duration.ofMinutes(30));
+        assertThrows(ManagerValidateException.class, () -> manager.addNewSubtask(noStatus));
+        assertThrows(ManagerValidateException.class, () -> manager.addAll(List.of(noStatus)));
+        Subtask cleared = new Subtask(storedId, "S", "d", null, epicId);
+        assertThrows(ManagerValidateException.class, () -> manager.updateSubtask(cleared));
+
+        assertEquals(List.of(storedId), manager.getSubtasks().stream().map(Task::getId).toList());
+        assertEquals(TaskStatus.DONE, manager.getSubtask(storedId).orElseThrow().getStatus());
+        assertEquals(List.of(storedId), manager.getEpic(epicId).orElseThrow().getSubtaskIds());
+        assertEquals(TaskStatus.DONE, manager.getEpic(epicId).orElseThrow().getStatus());
+        assertEquals(1, manager.getPrioritizedTasks().size());
+        assertEquals(1, manager.count(TaskType.SUBTASK, TaskStatus.DONE));
+    }
+
+    @Test
+    @DisplayName("агрегаты эпика пересчитываются при обновлении, переносе и удалении подзадач")
+    void epicAggregatesFollowSubtaskChanges() {
+        TaskManager manager = createManager();
+        int firstEpic = manager.addNewEpic(new Epic("E1", "d"));
+        int secondEpic = manager.addNewEpic(new Epic("E2", "d"));
+
+        Subtask early = new Subtask("S1", "d", TaskStatus.DONE, firstEpic);
+        early.setStartTime(LocalDateTime.of(2025, 1, 1, 9, 0));
+        early.setDuration(Duration.ofMinutes(60));
+        int earlyId = manager.addNewSubtask(early);
+        Subtask late = new Subtask("S2", "d", TaskStatus.DONE, firstEpic);
+        late.setStartTime(LocalDateTime.of(2025, 1, 1, 12, 0));
+        late.setDuration(Duration.ofMinutes(30));
+        int lateId = manager.addNewSubtask(late);
+
+        Epic epic = manager.getEpic(firstEpic).orElseThrow();
+        assertEquals(TaskStatus.DONE, epic.getStatus());
+        assertEquals(Duration.ofMinutes(90), epic.getDuration());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 9, 0), epic.getStartTime());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 30), epic.getEndTime());
+
+        Subtask moved = new Subtask(lateId, "S2", "d", TaskStatus.NEW, secondEpic);
+        moved.setStartTime(LocalDateTime.of(2025, 1, 1, 14, 0));
+        moved.setDuration(Duration.ofMinutes(45));
+        manager.updateSubtask(moved);
+
+        epic = manager.getEpic(firstEpic).orElseThrow();
+        assertEquals(List.of(earlyId), epic.getSubtaskIds());
+        assertEquals(Duration.ofMinutes(60), epic.getDuration());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), epic.getEndTime());
+        Epic target = manager.getEpic(secondEpic).orElseThrow();
+        assertEquals(List.of(lateId), target.getSubtaskIds());
+        assertEquals(TaskStatus.NEW, target.getStatus());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 14, 45), target.getEndTime());
+
+        manager.deleteSubtask(earlyId);
+        epic = manager.getEpic(firstEpic).orElseThrow();
+        assertEquals(TaskStatus.NEW, epic.getStatus());
+        assertEquals(Duration.ZERO, epic.getDuration());
+        assertNull(epic.getStartTime());
+        assertNull(epic.getEndTime());
+    }
+
+    @Test
+    @DisplayName("prioritized: выборка по диапазону времени и постраничный обход")
+    void prioritizedTasks_rangeAndPaging() {
+        TaskManager manager = createManager();
+        LocalDateTime base = LocalDateTime.of(2025, 3, 3, 0, 0);
+        for (int day = 0; day < 14; day++) {
+            Task task = new Task("T" + day, "d", TaskStatus.NEW);
+            task.setStartTime(base.plusDays(day));
+            task.setDuration(Duration.ofMinutes(60));
+            manager.addNewTask(task);
+        }
+        manager.addNewTask(new Task("без времени", "d", TaskStatus.NEW));
+
+        NavigableSet<Task> week = manager.getPrioritizedTasks(base.plusDays(7), base.plusDays(14));
+        assertEquals(7, week.size());
+        assertEquals(base.plusDays(7), week.first().getStartTime());
+        assertEquals(base.plusDays(13), week.last().getStartTime());
+        assertThrows(UnsupportedOperationException.class, week::pollFirst);
+
+        List<Task> pages = new ArrayList<>();
+        List<Task> page = manager.getPrioritizedTasksAfter(null, 5);
+        while (!page.isEmpty()) {
+            pages.addAll(page);
+            page = manager.getPrioritizedTasksAfter(page.getLast(), 5);
+        }
+        assertEquals(manager.getPrioritizedTasks(), pages);
+    }
+
+    @Test
+    @DisplayName("история просмотров ведётся отдельно для каждого пользователя")
+    void historyIsKeptPerUser() {
+        TaskManager manager = createManager();
+        int t1 = manager.addNewTask(new Task("T1", "d", TaskStatus.NEW));
+        int t2 = manager.addNewTask(new Task("T2", "d", TaskStatus.NEW));
+        int t3 = manager.addNewTask(new Task("T3", "d", TaskStatus.NEW));
+
+        manager.getSnapshot("alice", t1);
+        manager.getSnapshot("alice", t2);
+        manager.getSnapshot("alice", t1);
+        manager.getSnapshot("bob", t3);
+        assertTrue(manager.getSnapshot("bob", 999).isEmpty());
+
+        assertEquals(List.of(t2, t1), manager.getHistorySnapshots("alice").stream().map(TaskSnapshot::id).toList());
+        assertEquals(List.of(t3), manager.getHistorySnapshots("bob").stream().map(TaskSnapshot::id).toList());
+        assertTrue(manager.getHistory().isEmpty(), "просмотры пользователей не попадают в общую историю");
+
+        manager.deleteTask(t2);
+        assertEquals(List.of(t1), manager.getHistorySnapshots("alice").stream().map(TaskSnapshot::id).toList(),
+                "удалённые задачи не показываются в истории пользователя");
+
+        manager.clearHistory("alice");
+        assertTrue(manager.getHistorySnapshots("alice").isEmpty());
+        assertTrue(manager.getHistorySnapshots("carol").isEmpty());
+    }
+
+    @Test
+    @DisplayName("история показывает текущее состояние просмотренных задач")
+    void historyReflectsCurrentState() {
+        TaskManager manager = createManager();
+        int taskId = manager.addNewTask(new Task("Old", "d", TaskStatus.NEW));
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        manager.getTask(taskId);
+        manager.getEpic(epicId);
+
+        Task updated = new Task(taskId, "New", "d", TaskStatus.DONE);
+        manager.updateTask(updated);
+        manager.addNewSubtask(new Subtask("S", "d", TaskStatus.DONE, epicId));
+
+        List<Task> history = manager.getHistory();
+        assertEquals(List.of(taskId, epicId), history.stream().map(Task::getId).toList());
+        assertEquals("New", history.get(0).getName());
+        assertEquals(TaskStatus.DONE, history.get(1).getStatus());
+        assertInstanceOf(Epic.class, history.get(1));
+
+        history.get(0).setName("changed outside");
+        assertEquals("New", manager.getHistory().get(0).getName(), "история отдаёт копии");
+    }
+
+    @Test
+    @DisplayName("индексы по типу и статусу: счётчики и выборки следуют за изменениями")
+    void statusIndexesFollowChanges() {
+        TaskManager manager = createManager();
+        int t1 = manager.addNewTask(new Task("T1", "d", TaskStatus.NEW));
+        int t2 = manager.addNewTask(new Task("T2", "d", TaskStatus.DONE));
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        Integer s1 = manager.addNewSubtask(new Subtask("S1", "d", TaskStatus.DONE, epicId));
+        Integer s2 = manager.addNewSubtask(new Subtask("S2", "d", TaskStatus.NEW, epicId));
+
+        assertEquals(2, manager.count(TaskType.TASK));
+        assertEquals(1, manager.count(TaskType.TASK, TaskStatus.NEW));
+        assertEquals(1, manager.count(TaskType.EPIC, TaskStatus.IN_PROGRESS));
+        assertEquals(List.of(s1), manager.getSnapshots(TaskType.SUBTASK, TaskStatus.DONE).stream()
+                .map(TaskSnapshot::id).toList());
+
+        manager.updateTask(new Task(t1, "T1", "d", TaskStatus.DONE));
+        manager.updateSubtask(new Subtask(s2, "S2", "d", TaskStatus.DONE, epicId));
+
+        assertEquals(0, manager.count(TaskType.TASK, TaskStatus.NEW));
+        assertEquals(List.of(t2, t1), manager.getSnapshots(TaskType.TASK, TaskStatus.DONE).stream()
+                .map(TaskSnapshot::id).toList(), "порядок — по времени получения статуса");
+        assertEquals(0, manager.count(TaskType.EPIC, TaskStatus.IN_PROGRESS));
+        assertEquals(1, manager.count(TaskType.EPIC, TaskStatus.DONE), "статус эпика пересчитывается и в индексе");
+
+        manager.deleteTask(t2);
+        manager.deleteEpic(epicId);
+
+        assertEquals(1, manager.count(TaskType.TASK, TaskStatus.DONE));
+        assertEquals(0, manager.count(TaskType.SUBTASK, TaskStatus.DONE));
+        assertEquals(0, manager.count(TaskType.EPIC));
+        assertTrue(manager.getSnapshots(TaskType.EPIC, TaskStatus.DONE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("полнотекстовый поиск: кириллица, префиксы, ранжирование и обновление индекса")
+    void fullTextSearch() {
+        TaskManager manager = createManager();
+        int inName = manager.addNewTask(new Task("Переезд офиса", "Собрать коробки", TaskStatus.NEW));
+        int inDescription = manager.addNewTask(new Task("Логистика", "Заказать машину для переезда", TaskStatus.NEW));
+        int epicId = manager.addNewEpic(new Epic("Ёлка в ОФИСЕ", "Праздник"));
+        manager.addNewTask(new Task("Отчёт", "Квартальный", TaskStatus.DONE));
+
+        assertEquals(List.of(inName, inDescription), ids(manager.search("переезд", 10)),
+                "совпадение в названии выше совпадения в описании");
+        assertEquals(List.of(epicId), ids(manager.search("елк офис", 10)), "регистр и ё не важны, все слова обязательны");
+        assertEquals(List.of(inName), ids(manager.search("пер", 1)));
+        assertEquals(List.of(inName, inDescription), ids(manager.search("переезд", Integer.MAX_VALUE)),
+                "большой лимит не выделяет память под весь лимит");
+        assertEquals(List.of(epicId), ids(manager.search("елк офис", Integer.MAX_VALUE)));
+        assertTrue(manager.search("отпуск", 10).isEmpty());
+        assertTrue(manager.search("  ,. ", 10).isEmpty());
+
+        manager.updateTask(new Task(inName, "Ремонт офиса", "Собрать коробки", TaskStatus.NEW));
+        assertEquals(List.of(inDescription), ids(manager.search("переезд", 10)), "индекс следует за обновлением");
+
+        manager.deleteEpic(epicId);
+        assertEquals(List.of(inName), ids(manager.search("офис", 10)));
+    }
+
+    private static List<Integer> ids(List<TaskSnapshot> snapshots) {
+        return snapshots.stream().map(TaskSnapshot::id).toList();
+    }
+
+    @Test
+    @DisplayName("постраничная выдача по курсору и ленивые потоки копий")
+    void cursorPagesAndStreams() {
+        TaskManager manager = createManager();
+        List<Integer> taskIds = new ArrayList<>();
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        for (int i = 0; i < 700; i++) {
+            taskIds.add(manager.addNewTask(new Task("T" + i, "d", TaskStatus.NEW)));
+            if (i % 3 == 0) {
+                manager.addNewSubtask(new Subtask("S" + i, "d", TaskStatus.NEW, epicId));
+            }
+        }
+        manager.deleteTask(taskIds.remove(5));
+
+        List<Integer> paged = new ArrayList<>();
+        int cursor = 0;
+        for (List<Task> page = manager.getTasks(cursor, 100); !page.isEmpty(); page = manager.getTasks(cursor, 100)) {
+            assertTrue(page.size() <= 100);
+            page.forEach(task -> paged.add(task.getId()));
+            cursor = page.getLast().getId();
+        }
+        assertEquals(taskIds, paged);
+        assertEquals(List.of(epicId), manager.getEpics(0, 10).stream().map(Epic::getId).toList());
+        assertEquals(234, manager.streamSubtasks().count());
+
+        assertEquals(taskIds, manager.streamTasks().map(Task::getId).toList());
+        manager.streamTasks().findFirst().orElseThrow().setName("changed outside");
+        assertEquals("T0", manager.getTasks(0, 1).getFirst().getName(), "поток отдаёт копии");
+
+        var iterator = manager.streamTasks().iterator();
+        iterator.next();
+        int added = manager.addNewTask(new Task("Late", "d", TaskStatus.NEW));
+        Task last = null;
+        while (iterator.hasNext()) {
+            last = iterator.next();
+        }
+        assertEquals(added, last.getId(), "поток по страницам не падает при изменениях между чтениями");
+
+        assertThrows(IllegalArgumentException.class, () -> manager.getTasks(0, -1));
+    }
+
+    @Test
+    @DisplayName("списки идут по возрастанию id, снимки читаются диапазоном после последнего увиденного id")
+    void idOrderAndIncrementalSync() {
+        TaskManager manager = createManager();
+        List<Integer> taskIds = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            taskIds.add(manager.addNewTask(new Task("T" + i, "d", TaskStatus.NEW)));
+        }
+        for (int i = 0; i < 250; i++) {
+            manager.deleteTask(taskIds.removeFirst());
+        }
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        taskIds.add(manager.addNewTask(new Task("Late", "d", TaskStatus.NEW)));
+
+        assertEquals(taskIds, manager.getTasks().stream().map(Task::getId).toList());
+        assertEquals(taskIds, manager.getSnapshots(TaskType.TASK).stream().map(TaskSnapshot::id).toList());
+
+        int lastSeen = taskIds.get(9);
+        List<TaskSnapshot> delta = manager.getSnapshots(TaskType.TASK, lastSeen, 1000);
+        assertEquals(taskIds.subList(10, taskIds.size()), delta.stream().map(TaskSnapshot::id).toList());
+        assertEquals(List.of(epicId), manager.getSnapshots(TaskType.EPIC, 0, 10).stream().map(TaskSnapshot::id).toList());
+        assertEquals(2, manager.getSnapshots(TaskType.TASK, lastSeen, 2).size());
+
+        int newId = manager.addNewTask(new Task("New", "d", TaskStatus.NEW));
+        List<TaskSnapshot> next = manager.getSnapshots(TaskType.TASK, taskIds.getLast(), 10);
+        assertEquals(List.of(newId), next.stream().map(TaskSnapshot::id).toList());
+        assertTrue(manager.getHistory().isEmpty(), "чтение диапазона не попадает в историю");
+    }
+
+    @Test
+    @DisplayName("лента изменений нумерует события подряд и рассылает их подписчикам")
+    void changeFeedReportsNumberedEvents() {
+        TaskManager manager = createManager();
+        List<TaskEvent> received = new ArrayList<>();
+        Consumer<TaskEvent> listener = received::add;
+        manager.addChangeListener(listener);
+        long start = manager.getLastSequence();
+
+        int taskId = manager.addNewTask(new Task("T", "d", TaskStatus.NEW));
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        int subtaskId = manager.addNewSubtask(new Subtask("S", "d", TaskStatus.DONE, epicId));
+        manager.updateTask(new Task(taskId, "T", "d", TaskStatus.NEW));
+        manager.updateTask(new Task(taskId, "T2", "d", TaskStatus.IN_PROGRESS));
+        manager.deleteSubtask(subtaskId);
+
+        List<TaskEvent> events = manager.getChanges(start, 100);
+        assertEquals(received, events);
+        assertEquals(List.of(
+                        "CREATED " + taskId, "CREATED " + epicId, "CREATED " + subtaskId, "UPDATED " + epicId,
+                        "UPDATED " + taskId, "DELETED " + subtaskId, "UPDATED " + epicId),
+                events.stream().map(e -> e.kind() + " " + e.id()).toList(),
+                "изменение без разницы в снимке не порождает событие, подзадача идёт раньше своего эпика");
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(start + i + 1, events.get(i).sequence());
+        }
+        assertEquals(events.getLast().sequence(), manager.getLastSequence());
+        assertTrue(events.get(3).changed().contains(TaskEvent.Field.STATUS));
+        assertEquals(Set.of(TaskEvent.Field.NAME, TaskEvent.Field.STATUS), events.get(4).changed(),
+                "обновление перечисляет изменившиеся поля");
+        assertEquals(TaskStatus.DONE, events.get(3).snapshot().status(), "событие несёт состояние после изменения");
+        assertEquals("T2", events.get(4).snapshot().name());
+        assertEquals(TaskType.SUBTASK, events.get(5).type());
+        assertEquals("S", events.get(5).snapshot().name(), "удаление несёт последний снимок");
+        assertTrue(events.get(5).changed().isEmpty());
+        assertTrue(manager.getHistory().isEmpty(), "состояние приходит в событии, история не засоряется");
+        assertEquals(events.subList(5, 7), manager.getChanges(events.get(4).sequence(), 100));
+        assertEquals(1, manager.getChanges(start, 1).size());
+
+        manager.removeChangeListener(listener);
+        received.clear();
+        long beforeBatch = manager.getLastSequence();
+        for (int i = 0; i < 1100; i++) {
+            manager.addNewTask(new Task("B" + i, "d", TaskStatus.NEW));
+        }
+        assertTrue(received.isEmpty(), "отписавшийся слушатель событий не получает");
+        List<TaskEvent> tail = manager.getChanges(beforeBatch, 2000);
+        assertTrue(tail.getFirst().sequence() > beforeBatch + 1, "старые события вытеснены, пропуск виден по номеру");
+        assertEquals(manager.getLastSequence(), tail.getLast().sequence());
+        assertTrue(manager.getChanges(manager.getLastSequence(), 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> manager.getChanges(0, -1));
+    }
+
+    @Test
+    @DisplayName("массовое удаление сообщает о подзадачах раньше, чем об их эпике")
+    void bulkDeletesReportSubtasksBeforeTheirEpic() {
+        TaskManager manager = createManager();
+        int first = manager.addNewEpic(new Epic("E1", "d"));
+        int firstSubtask = manager.addNewSubtask(new Subtask("S1", "d", TaskStatus.DONE, first));
+        int second = manager.addNewEpic(new Epic("E2", "d"));
+        int secondSubtask = manager.addNewSubtask(new Subtask("S2", "d", TaskStatus.DONE, second));
+
+        long start = manager.getLastSequence();
+        manager.deleteSubtasks();
+        assertEquals(List.of("DELETED " + firstSubtask, "DELETED " + secondSubtask,
+                        "UPDATED " + first, "UPDATED " + second),
+                manager.getChanges(start, 10).stream().map(e -> e.kind() + " " + e.id()).toList());
+
+        int thirdSubtask = manager.addNewSubtask(new Subtask("S3", "d", TaskStatus.NEW, first));
+        int fourthSubtask = manager.addNewSubtask(new Subtask("S4", "d", TaskStatus.NEW, second));
+        start = manager.getLastSequence();
+        manager.deleteEpics();
+        assertEquals(List.of("DELETED " + thirdSubtask, "DELETED " + first,
+                        "DELETED " + fourthSubtask, "DELETED " + second),
+                manager.getChanges(start, 10).stream().map(e -> e.kind() + " " + e.id()).toList());
+        assertTrue(manager.getSubtasks().isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("исключение слушателя не прерывает изменение и не мешает другим слушателям")
+    void throwingListenerDoesNotBreakMutation() {
+        TaskManager manager = createManager();
+        List<TaskEvent> received = new ArrayList<>();
+        List<Throwable> reported = new ArrayList<>();
+        manager.addChangeListener(event -> {
+            throw new IllegalStateException("сбой слушателя");
+        });
+        manager.addChangeListener(received::add);
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+        int epicId;
+        int subtaskId;
+        try {
+            epicId = manager.addNewEpic(new Epic("E", "d"));
+            subtaskId = manager.addNewSubtask(new Subtask("S", "d", TaskStatus.DONE, epicId));
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(3, received.size(), "второй слушатель получает все события");
+        assertEquals(3, reported.size(), "каждое исключение передаётся обработчику потока");
+        assertEquals(TaskStatus.DONE, manager.getEpic(epicId).orElseThrow().getStatus());
+        assertEquals(List.of(subtaskId), manager.getEpic(epicId).orElseThrow().getSubtaskIds());
+        assertEquals(1, manager.count(TaskType.SUBTASK, TaskStatus.DONE));
+        assertEquals(List.of(subtaskId), manager.search("S", 10).stream().map(TaskSnapshot::id).toList());
+    }
+
+    @Test
+    @DisplayName("удаление задачи по id эпика или подзадачи ничего не трогает")
+    void deleteTaskIgnoresIdsOfOtherTypes() {
+        TaskManager manager = createManager();
+        int epicId = manager.addNewEpic(new Epic("Ремонт", "d"));
+        int subtaskId = manager.addNewSubtask(new Subtask("Обои", "d", TaskStatus.NEW, epicId));
+        manager.getEpic(epicId);
+        long sequence = manager.getLastSequence();
+
+        manager.deleteTask(epicId);
+        manager.deleteTask(subtaskId);
+
+        assertTrue(manager.getSnapshot(epicId).isPresent());
+        assertTrue(manager.getSnapshot(subtaskId).isPresent());
+        assertEquals(List.of(epicId), manager.getSnapshots(TaskType.EPIC).stream().map(TaskSnapshot::id).toList());
+        assertEquals(1, manager.count(TaskType.EPIC, TaskStatus.NEW));
+        assertEquals(1, manager.count(TaskType.SUBTASK, TaskStatus.NEW));
+        assertEquals(List.of(epicId), manager.search("ремонт", 10).stream().map(TaskSnapshot::id).toList());
+        assertTrue(manager.getChanges(sequence, 10).isEmpty());
+        assertEquals(List.of(epicId), manager.getEpicSubtasks(epicId).stream().map(Subtask::getEpicId).toList());
+    }
+
+    @Test
+    @DisplayName("prioritized: изменение возвращённых задач не портит индекс менеджера")
+    void prioritizedReadsReturnCopies() {
+        TaskManager manager = createManager();
+        LocalDateTime base = LocalDateTime.of(2025, 4, 1, 9, 0);
+        int epicId = manager.addNewEpic(new Epic("E", "d"));
+        Task task = new Task("T", "d", TaskStatus.NEW);
+        task.setStartTime(base);
+        task.setDuration(Duration.ofMinutes(30));
+        manager.addNewTask(task);
+        Subtask subtask = new Subtask("S", "d", TaskStatus.NEW, epicId);
+        subtask.setStartTime(base.plusHours(1));
+        subtask.setDuration(Duration.ofMinutes(30));
+        manager.addNewSubtask(subtask);
+
+        List<Task> returned = new ArrayList<>(manager.getPrioritizedTasks(base, base.plusDays(1)));
+        returned.addAll(manager.getPrioritizedTasksAfter(null, 10));
+        returned.addAll(manager.getPrioritizedTasks());
+        assertInstanceOf(Subtask.class, returned.get(1), "копия подзадачи остаётся подзадачей");
+        for (Task t : returned) {
+            t.setStartTime(base.plusYears(1));
+            t.setDuration(Duration.ofDays(1));
+        }
+
+        List<LocalDateTime> starts = manager.getPrioritizedTasks().stream().map(Task::getStartTime).toList();
+        assertEquals(List.of(base, base.plusHours(1)), starts);
+        assertEquals(2, manager.getPrioritizedTasks(base, base.plusDays(1)).size());
+        Task late = new Task("L", "d", TaskStatus.NEW);
+        late.setStartTime(base.plusYears(1).plusHours(1));
+        late.setDuration(Duration.ofMinutes(10));
+        assertDoesNotThrow(() -> manager.addNewTask(late), "изменённые копии не занимают время в индексе");
+    }
+}
@@ -0,0 +1,64 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.TaskSnapshot;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+import ru.yandex.javacourse.schedule.tasks.TaskType;
+
+import java.util.Random;
+
+/**
+ * Query latency of {@link TextIndex} over a million entities with Cyrillic names of three words and
+ * descriptions of eight, drawn from a vocabulary of 5 000 words with a skewed distribution.
+ */
+public class TextIndexBenchmark {
+
+    private static final int ENTITIES = 1_000_000;
+    private static final int VOCABULARY = 5_000;
+    private static final int RUNS = 200;
+    private static final String[] SYLLABLES = {"ка", "ро", "ме", "ту", "ли", "за", "до", "пе", "ны", "шу",
+            "ва", "ёж", "си", "го", "ре", "мя"};
+
+    public static void main(String[] args) {
+        Random random = new Random(22);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int n = i; word.length() < 6 || n > 0; n /= SYLLABLES.length) {
+                word.append(SYLLABLES[n % SYLLABLES.length]);
+            }
+            vocabulary[i] = word.toString();
+        }
+
+        TextIndex index = new TextIndex();
+        long start = System.nanoTime();
+        for (int id = 1; id <= ENTITIES; id++) {
+            index.move(null, new TaskSnapshot(id, TaskType.TASK, text(random, vocabulary, 3),
+                    text(random, vocabulary, 8), TaskStatus.NEW, null, null, null, 0));
+        }
+        System.out.printf("indexed %d entities in %.1f s%n", ENTITIES, (System.nanoTime() - start) / 1e9);
+
+        String rare = vocabulary[VOCABULARY - 1];
+        String common = vocabulary[0];
+        String[] queries = {rare, rare.substring(0, 5), common + " " + rare, common, "Кароме"};
+        System.out.printf("%-28s %10s %12s%n", "query", "hits", "µs / query");
+        for (String query : queries) {
+            int hits = index.search(query, 20).length;
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long t = System.nanoTime();
+                index.search(query, 20);
+                best = Math.min(best, System.nanoTime() - t);
+            }
+            System.out.printf("%-28s %10d %12.1f%n", query, hits, best / 1e3);
+        }
+    }
+
+    private static String text(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            double skew = random.nextDouble();
+            text.append(i == 0 ? "" : " ").append(vocabulary[(int) (skew * skew * skew * vocabulary.length)]);
+        }
+        return text.toString();
+    }
+}
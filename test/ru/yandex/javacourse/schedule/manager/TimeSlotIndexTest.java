@@ -0,0 +1,73 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeSlotIndexTest {
+
+    private static final LocalDateTime YEAR_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime AFTER_YEAR = YEAR_START.plusDays(365);
+    private static final int SHORT_TASKS = 10_000;
+
+    @Test
+    @DisplayName("длинная задача не заставляет проверку пересечений обходить короткие")
+    void longSlotDoesNotWidenTheScan() {
+        TimeSlotIndex index = new TimeSlotIndex();
+        index.add(task(1, YEAR_START, Duration.ofDays(365)));
+        for (int i = 0; i < SHORT_TASKS; i++) {
+            index.add(task(i + 2, AFTER_YEAR.plusMinutes(i * 5L), Duration.ofMinutes(5)));
+        }
+
+        long before = index.visitedSlots();
+        assertFalse(index.isFree(task(0, AFTER_YEAR.plusMinutes(5_000 * 5L + 2), Duration.ofMinutes(5))));
+        assertTrue(index.isFree(task(0, AFTER_YEAR.plusMinutes(SHORT_TASKS * 5L), Duration.ofMinutes(5))));
+        assertTrue(index.visitedSlots() - before <= 4, "просмотрено слотов: " + (index.visitedSlots() - before));
+
+        before = index.visitedSlots();
+        List<TimeConflict> conflicts = index.conflicts(task(0, YEAR_START.plusDays(100), Duration.ofHours(1)));
+        assertEquals(List.of(new TimeConflict(1, YEAR_START.plusDays(100), YEAR_START.plusDays(100).plusHours(1))),
+                conflicts);
+        assertTrue(index.visitedSlots() - before <= 1, "просмотрено слотов: " + (index.visitedSlots() - before));
+
+        before = index.visitedSlots();
+        conflicts = index.conflicts(task(0, AFTER_YEAR.minusMinutes(1), Duration.ofMinutes(12)));
+        assertEquals(List.of(1, 2, 3, 4), conflicts.stream().map(TimeConflict::taskId).toList(),
+                "находятся и предшествующий слот, и слоты внутри интервала");
+        assertEquals(4, index.visitedSlots() - before);
+    }
+
+    @Test
+    @DisplayName("поиск свободного окна начинается с ближайшего слота перед окном")
+    void freeSlotSearchSkipsSlotsBeforeWindow() {
+        TimeSlotIndex index = new TimeSlotIndex();
+        index.add(task(1, YEAR_START, Duration.ofDays(365)));
+        for (int i = 0; i < SHORT_TASKS; i++) {
+            index.add(task(i + 2, AFTER_YEAR.plusMinutes(i * 10L), Duration.ofMinutes(5)));
+        }
+
+        long before = index.visitedSlots();
+        LocalDateTime from = AFTER_YEAR.plusMinutes(5_000 * 10L + 2);
+        List<TimeSlot> gaps = index.freeSlots(Duration.ofMinutes(5), from, from.plusMinutes(30), Integer.MAX_VALUE);
+
+        assertEquals(List.of(new TimeSlot(from.plusMinutes(3), from.plusMinutes(8)),
+                new TimeSlot(from.plusMinutes(13), from.plusMinutes(18)),
+                new TimeSlot(from.plusMinutes(23), from.plusMinutes(28))), gaps);
+        assertTrue(index.visitedSlots() - before <= 4, "просмотрено слотов: " + (index.visitedSlots() - before));
+        assertEquals(List.of(new TimeSlot(YEAR_START.minusDays(1), YEAR_START)),
+                index.freeSlots(Duration.ofMinutes(5), YEAR_START.minusDays(1), YEAR_START.plusDays(1), 10));
+        assertTrue(index.freeSlots(Duration.ofMinutes(5), YEAR_START.plusDays(100), YEAR_START.plusDays(101), 10)
+                .isEmpty(), "внутри длинного слота свободных окон нет");
+    }
+
+    private static Task task(int id, LocalDateTime start, Duration duration) {
+        return new Task(id, "T" + id, "d", TaskStatus.NEW, duration, start);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.javacourse.schedule.manager;
+
+import ru.yandex.javacourse.schedule.tasks.Task;
+import ru.yandex.javacourse.schedule.tasks.TaskStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Heap retained by 50 000 users' "recently viewed" lists of 10 entries each: one bounded
+ * {@link InMemoryHistoryManager} per user against one {@link UserHistoryStore}. User ids and viewed tasks
+ * are shared by both and not counted.
+ */
+public class UserHistoryStoreBenchmark {
+
+    private static final int USERS = 50_000;
+    private static final int TASKS = 10_000;
+    private static final int VIEWS_PER_USER = 30;
+
+    public static void main(String[] args) {
+        Task[] tasks = new Task[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            tasks[i] = new Task(i + 1, "T" + i, "d", TaskStatus.NEW);
+        }
+        String[] users = new String[USERS];
+        for (int user = 0; user < USERS; user++) {
+            users[user] = "user-" + user;
+        }
+        int[] views = new Random(19).ints(USERS * VIEWS_PER_USER, 0, TASKS).toArray();
+
+        long storeHeap = retained(() -> {
+            UserHistoryStore store = new UserHistoryStore(UserHistoryStore.DEFAULT_CAPACITY);
+            for (int user = 0; user < USERS; user++) {
+                for (int v = 0; v < VIEWS_PER_USER; v++) {
+                    store.add(users[user], tasks[views[user * VIEWS_PER_USER + v]].getId());
+                }
+            }
+            return store;
+        });
+        long managersHeap = retained(() -> {
+            Map<String, HistoryManager> managers = new HashMap<>();
+            for (int user = 0; user < USERS; user++) {
+                HistoryManager history = managers.computeIfAbsent(users[user],
+                        key -> new InMemoryHistoryManager(UserHistoryStore.DEFAULT_CAPACITY));
+                for (int v = 0; v < VIEWS_PER_USER; v++) {
+                    history.add(tasks[views[user * VIEWS_PER_USER + v]]);
+                }
+            }
+            return managers;
+        });
+
+        System.out.printf("%-36s %14s%n", "history of 50 000 users", "heap MB");
+        System.out.printf("%-36s %14.1f%n", "InMemoryHistoryManager per user", managersHeap / 1e6);
+        System.out.printf("%-36s %14.1f%n", "UserHistoryStore", storeHeap / 1e6);
+    }
+
+    private static Object sink;
+
+    private static long retained(Supplier<Object> build) {
+        sink = null;
+        long before = usedHeap();
+        sink = build.get();
+        long after = usedHeap();
+        sink = null;
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,67 @@
+package ru.yandex.javacourse.schedule.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares {@link IntObjectHashMap} with {@code HashMap<Integer, ...>} on a million dense ids, the shape
+ * of the task manager stores: heap retained by the map and latency of random lookups.
+ */
+public class IntObjectHashMapBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int LOOKUPS = 10_000_000;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        Object value = new Object();
+        int[] probes = new Random(1).ints(LOOKUPS, 1, ENTRIES + 1).toArray();
+
+        long before = usedHeap();
+        Map<Integer, Object> boxed = new HashMap<>();
+        for (int id = 1; id <= ENTRIES; id++) {
+            boxed.put(id, value);
+        }
+        long boxedHeap = usedHeap() - before;
+
+        before = usedHeap();
+        IntObjectHashMap<Object> primitive = new IntObjectHashMap<>();
+        for (int id = 1; id <= ENTRIES; id++) {
+            primitive.put(id, value);
+        }
+        long primitiveHeap = usedHeap() - before;
+
+        long boxedBest = Long.MAX_VALUE;
+        long primitiveBest = Long.MAX_VALUE;
+        int sink = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int probe : probes) {
+                sink += boxed.get(probe) == value ? 1 : 0;
+            }
+            boxedBest = Math.min(boxedBest, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int probe : probes) {
+                sink += primitive.get(probe) == value ? 1 : 0;
+            }
+            primitiveBest = Math.min(primitiveBest, System.nanoTime() - start);
+        }
+
+        System.out.printf("%-28s %14s %14s%n", "map", "heap MB / 1M", "ns / lookup");
+        System.out.printf("%-28s %14.1f %14.2f%n", "HashMap<Integer, Object>",
+                boxedHeap / 1e6, (double) boxedBest / LOOKUPS);
+        System.out.printf("%-28s %14.1f %14.2f%n", "IntObjectHashMap<Object>",
+                primitiveHeap / 1e6, (double) primitiveBest / LOOKUPS);
+        System.out.println("(" + sink + " hits)");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.yandex.javacourse.schedule.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntObjectHashMapTest {
+
+    @Test
+    @DisplayName("put/get/remove работают как у HashMap")
+    void basicOperations() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(-7, "b"));
+        assertEquals("a", map.put(1, "c"));
+
+        assertEquals("c", map.get(1));
+        assertEquals("b", map.get(-7));
+        assertNull(map.get(2));
+        assertTrue(map.containsKey(-7));
+        assertEquals(2, map.size());
+
+        assertEquals("b", map.remove(-7));
+        assertNull(map.remove(-7));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    @DisplayName("ключи с шагом, кратным размеру таблицы, не выстраиваются в одну цепочку")
+    void stridedKeysDoNotShareProbeChain() {
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            map.put(i * 65_536, i);
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(i, map.get(i * 65_536));
+        }
+        assertTrue(map.maxProbe() < 64, "самая длинная цепочка: " + map.maxProbe());
+        assertEquals(20_000, map.values().size());
+    }
+
+    @Test
+    @DisplayName("ключи с одинаковым остатком и случайные операции совпадают с HashMap")
+    void matchesHashMapUnderCollisions() {
+        Random random = new Random(7);
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+        Map<Integer, Integer> reference = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(64) * 1024 : random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                assertEquals(reference.put(key, i), map.put(key, i));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        for (Map.Entry<Integer, Integer> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(reference.values().stream().sorted().toList(), map.values().stream().sorted().toList());
+    }
+}
@@ -0,0 +1,115 @@
+package ru.yandex.javacourse.schedule.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntOrderedSetTest {
+
+    @Test
+    @DisplayName("порядок вставки сохраняется, дубликаты не добавляются")
+    void keepsInsertionOrderWithoutDuplicates() {
+        IntOrderedSet set = new IntOrderedSet();
+
+        assertTrue(set.add(5));
+        assertTrue(set.add(-3));
+        assertTrue(set.add(0));
+        assertFalse(set.add(5));
+
+        assertEquals(List.of(5, -3, 0), set.asList());
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(7));
+    }
+
+    @Test
+    @DisplayName("удаление сохраняет порядок оставшихся элементов")
+    void removeKeepsOrder() {
+        IntOrderedSet set = new IntOrderedSet();
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            assertTrue(set.remove(i));
+        }
+        assertFalse(set.remove(0));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 != 0) expected.add(i);
+        }
+        assertEquals(expected, set.asList());
+        assertEquals(expected.size(), set.toArray().length);
+    }
+
+    @Test
+    @DisplayName("представление списком не копирует данные и не допускает изменений")
+    void listViewIsLiveAndReadOnly() {
+        IntOrderedSet set = new IntOrderedSet();
+        List<Integer> view = set.asList();
+
+        set.add(1);
+        set.add(2);
+        assertEquals(List.of(1, 2), view);
+        assertTrue(view.contains(2));
+
+        assertThrows(UnsupportedOperationException.class, () -> view.add(3));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+
+        set.clear();
+        assertTrue(view.isEmpty());
+    }
+
+    @Test
+    @DisplayName("доступ по индексу не меняет раскладку и не мешает начатому обходу")
+    void positionalReadDoesNotCompact() {
+        IntOrderedSet set = new IntOrderedSet();
+        for (int i = 0; i < 20; i++) {
+            set.add(i);
+        }
+        for (int i = 0; i < 20; i += 4) {
+            set.remove(i);
+        }
+
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        assertEquals(1, iterator.nextInt());
+        assertEquals(2, iterator.nextInt());
+        assertEquals(19, set.get(14));
+        assertEquals(1, set.get(0));
+        assertEquals(6, set.get(4));
+        assertEquals(3, iterator.nextInt());
+        assertEquals(5, iterator.nextInt());
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(15));
+    }
+
+    @Test
+    @DisplayName("случайные операции совпадают с LinkedHashSet")
+    void matchesLinkedHashSet() {
+        Random random = new Random(42);
+        IntOrderedSet set = new IntOrderedSet();
+        Set<Integer> reference = new LinkedHashSet<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(value), set.remove(value));
+            } else {
+                assertEquals(reference.add(value), set.add(value));
+            }
+            assertEquals(reference.size(), set.size());
+        }
+        assertEquals(new ArrayList<>(reference), set.asList());
+
+        List<Integer> iterated = new ArrayList<>();
+        set.iterator().forEachRemaining((int value) -> iterated.add(value));
+        assertEquals(new ArrayList<>(reference), iterated);
+    }
+}
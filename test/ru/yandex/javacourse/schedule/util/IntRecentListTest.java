@@ -0,0 +1,65 @@
+package ru.yandex.javacourse.schedule.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntRecentListTest {
+
+    @Test
+    @DisplayName("повторное добавление переносит значение в конец, переполнение вытесняет самое старое")
+    void movesToEndAndEvictsOldest() {
+        IntRecentList list = new IntRecentList(3);
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        list.add(1);
+        assertArrayEquals(new int[]{2, 3, 1}, list.toArray());
+
+        list.add(4);
+        assertArrayEquals(new int[]{3, 1, 4}, list.toArray());
+        assertEquals(3, list.size());
+
+        assertTrue(list.remove(1));
+        assertFalse(list.remove(1));
+        assertArrayEquals(new int[]{3, 4}, list.toArray());
+    }
+
+    @Test
+    @DisplayName("совпадает с эталонной реализацией на случайных операциях")
+    void matchesReferenceImplementation() {
+        Random random = new Random(19);
+        IntRecentList list = new IntRecentList(8);
+        LinkedHashSet<Integer> reference = new LinkedHashSet<>();
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(20);
+            if (random.nextInt(10) == 0) {
+                assertEquals(reference.remove(value), list.remove(value));
+            } else {
+                list.add(value);
+                reference.remove(value);
+                reference.add(value);
+                if (reference.size() > 8) {
+                    reference.remove(reference.iterator().next());
+                }
+            }
+            List<Integer> actual = new ArrayList<>();
+            for (int v : list.toArray()) {
+                actual.add(v);
+            }
+            assertEquals(new ArrayList<>(reference), actual);
+        }
+    }
+
+    @Test
+    @DisplayName("емкость должна быть положительной")
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IntRecentList(0));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.yandex.javacourse.schedule.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntSortedSetTest {
+
+    @Test
+    @DisplayName("значения идут по возрастанию, итерация начинается после любого значения")
+    void keepsAscendingOrderAndIteratesAfterValue() {
+        IntSortedSet set = new IntSortedSet();
+        for (int value = 1; value <= 20; value++) {
+            assertTrue(set.add(value));
+        }
+        assertFalse(set.add(7));
+        assertTrue(set.remove(7));
+        assertFalse(set.remove(7));
+        assertTrue(set.remove(20));
+        assertTrue(set.add(0));
+        assertEquals(19, set.size());
+
+        PrimitiveIterator.OfInt it = set.iteratorAfter(6);
+        assertEquals(8, it.nextInt(), "удалённое значение пропускается");
+        assertArrayEquals(new int[]{18, 19}, toArray(set.iteratorAfter(17)));
+        assertArrayEquals(new int[]{0, 1}, toArray(set.iteratorAfter(-5), 2));
+        assertFalse(set.iteratorAfter(19).hasNext());
+        assertFalse(set.contains(7));
+        assertTrue(set.contains(0));
+    }
+
+    @Test
+    @DisplayName("изменение во время итерации обнаруживается")
+    void detectsModificationDuringIteration() {
+        IntSortedSet set = new IntSortedSet();
+        set.add(1);
+        set.add(2);
+        PrimitiveIterator.OfInt it = set.iterator();
+        it.nextInt();
+        set.add(3);
+        assertThrows(ConcurrentModificationException.class, it::nextInt);
+    }
+
+    @Test
+    @DisplayName("совпадает с TreeSet на случайных операциях")
+    void matchesTreeSet() {
+        Random random = new Random(24);
+        IntSortedSet set = new IntSortedSet();
+        TreeSet<Integer> reference = new TreeSet<>();
+        int next = 0;
+        for (int step = 0; step < 50_000; step++) {
+            int op = random.nextInt(10);
+            if (op < 5) {
+                next += 1 + random.nextInt(3);
+                assertEquals(reference.add(next), set.add(next));
+            } else if (op < 9) {
+                int value = random.nextInt(next + 1);
+                assertEquals(reference.remove(value), set.remove(value));
+            } else {
+                int value = random.nextInt(next + 1);
+                assertEquals(reference.add(value), set.add(value));
+            }
+            assertEquals(reference.size(), set.size());
+            if (step % 1000 == 0) {
+                int after = random.nextInt(next + 1);
+                assertArrayEquals(reference.tailSet(after, false).stream().mapToInt(Integer::intValue).toArray(),
+                        toArray(set.iteratorAfter(after)));
+            }
+        }
+        assertArrayEquals(reference.stream().mapToInt(Integer::intValue).toArray(), set.toArray());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+
+    private static int[] toArray(PrimitiveIterator.OfInt it) {
+        return toArray(it, Integer.MAX_VALUE);
+    }
+
+    private static int[] toArray(PrimitiveIterator.OfInt it, int limit) {
+        IntSortedSet copy = new IntSortedSet();
+        while (it.hasNext() && copy.size() < limit) {
+            copy.add(it.nextInt());
+        }
+        return copy.toArray();
+    }
+}